@@ -0,0 +1,18 @@
+package com.awards.benchmark;
+
+/**
+ * Descrição da máquina impressa no início dos testes de partida, para que cada
+ * resultado registrado carregue o hardware e a JVM em que foi obtido.
+ */
+final class BenchmarkEnvironment {
+
+    private BenchmarkEnvironment() {
+    }
+
+    static String describe() {
+        Runtime runtime = Runtime.getRuntime();
+        return String.format("%s %s (%s), JDK %s, %d processadores, heap máximo %d MB",
+                System.getProperty("os.name"), System.getProperty("os.version"), System.getProperty("os.arch"),
+                Runtime.version(), runtime.availableProcessors(), runtime.maxMemory() / (1024 * 1024));
+    }
+}
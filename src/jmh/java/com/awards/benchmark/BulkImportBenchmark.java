@@ -0,0 +1,106 @@
+package com.awards.benchmark;
+
+import com.awards.entity.Movie;
+import com.awards.repository.MovieBatchRepository;
+import com.awards.service.MovieCsvParser;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação completa (parse + gravação em lotes JDBC numa única transação) em um H2 em memória
+ * com o mesmo esquema da aplicação. Cada execução parte de tabelas vazias.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class BulkImportBenchmark {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE movie (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, release_year INTEGER NOT NULL, "
+                    + "title VARCHAR(255) NOT NULL, studios VARCHAR(255) NOT NULL, producers CLOB NOT NULL, winner BOOLEAN, fingerprint BIGINT, "
+                    + "CONSTRAINT uk_movie_year_title UNIQUE (release_year, title))",
+            "CREATE INDEX idx_movie_winner_year ON movie (winner, release_year)",
+            "CREATE TABLE producer (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE)",
+            "CREATE TABLE studio (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE)",
+            "CREATE TABLE movie_producer (movie_id BIGINT NOT NULL REFERENCES movie (id), "
+                    + "producer_id BIGINT NOT NULL REFERENCES producer (id), PRIMARY KEY (movie_id, producer_id))",
+            "CREATE TABLE movie_studio (movie_id BIGINT NOT NULL REFERENCES movie (id), "
+                    + "studio_id BIGINT NOT NULL REFERENCES studio (id), PRIMARY KEY (movie_id, studio_id))"
+    };
+
+    @Param({"200", "10000", "100000"})
+    public int rows;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private Path file;
+    private JdbcTemplate jdbcTemplate;
+    private MovieBatchRepository repository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        file = SyntheticMovieData.csvFile(rows);
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bulk-import-" + rows + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String statement : SCHEMA) {
+            jdbcTemplate.execute(statement);
+        }
+        repository = new MovieBatchRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        for (String table : new String[]{"movie_producer", "movie_studio", "producer", "studio", "movie"}) {
+            jdbcTemplate.execute("TRUNCATE TABLE " + table + " RESTART IDENTITY");
+        }
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Benchmark
+    public Integer importFile() {
+        return transactionTemplate.execute(status -> {
+            int imported = 0;
+            try (MovieCsvParser parser = new MovieCsvParser(Files.newInputStream(file))) {
+                List<Movie> batch = new ArrayList<>(batchSize);
+                Movie movie;
+                while ((movie = parser.next()) != null) {
+                    batch.add(movie);
+                    if (batch.size() == batchSize) {
+                        repository.insertAll(batch);
+                        imported += batch.size();
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                repository.insertAll(batch);
+                return imported + batch.size();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.awards.benchmark;
+
+import com.awards.entity.Movie;
+import com.awards.service.MovieCsvParser;
+import com.opencsv.CSVReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o {@link MovieCsvParser} com o caminho anterior baseado no OpenCSV
+ * (tokenização por vírgula, {@code split(";")}, {@code trim} e builder por linha).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvParseBenchmark {
+
+    @Param({"200", "10000", "1000000", "10000000"})
+    public int rows;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        file = SyntheticMovieData.csvFile(rows);
+    }
+
+    @Benchmark
+    public void movieCsvParser(Blackhole blackhole) throws IOException {
+        try (MovieCsvParser parser = new MovieCsvParser(Files.newInputStream(file))) {
+            Movie movie;
+            while ((movie = parser.next()) != null) {
+                blackhole.consume(movie);
+            }
+        }
+    }
+
+    @Benchmark
+    public void openCsv(Blackhole blackhole) throws Exception {
+        try (InputStream inputStream = Files.newInputStream(file);
+             CSVReader reader = new CSVReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            reader.readNext();
+
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                String[] values = line[0].split(";", -1);
+                if (values.length >= 4) {
+                    blackhole.consume(Movie.builder()
+                            .year(Integer.parseInt(values[0].trim()))
+                            .title(values[1].trim())
+                            .studios(values[2].trim())
+                            .producers(values[3].trim())
+                            .winner(values.length > 4 && "yes".equalsIgnoreCase(values[4].trim()))
+                            .build());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.awards.benchmark;
+
+import com.awards.dto.AwardIntervalResponse;
+import com.awards.dto.ProducerInterval;
+import com.awards.entity.Movie;
+import com.awards.index.ProducerIntervalIndex;
+import com.awards.service.ParallelIntervalCalculator;
+import com.awards.util.Names;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Custo de responder {@code getProducersAwardIntervals()} com cada motor, sem o banco:
+ * <ul>
+ *     <li>{@code fullRecompute}: o algoritmo original, refeito a cada requisição;</li>
+ *     <li>{@code indexRead}: leitura do resultado mantido pelo {@link ProducerIntervalIndex};</li>
+ *     <li>{@code indexRebuild}: reconstrução completa do índice (inicialização ou recarga);</li>
+ *     <li>{@code indexApplyWinner}: inclusão e remoção incremental de um vencedor;</li>
+ *     <li>{@code parallel}: o {@link ParallelIntervalCalculator} sobre arrays primitivos.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class IntervalBenchmark {
+
+    @Param({"200", "10000", "1000000", "10000000"})
+    public int rows;
+
+    private List<Movie> movies;
+    private List<Movie> winners;
+    private ProducerIntervalIndex index;
+    private ParallelIntervalCalculator calculator;
+    private String[] producers;
+    private int[][] winYears;
+    private List<Movie> newWinner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        movies = SyntheticMovieData.movies(rows);
+        winners = movies.stream().filter(Movie::getWinner).toList();
+        index = new ProducerIntervalIndex();
+        index.rebuild(winners);
+        calculator = new ParallelIntervalCalculator(0);
+
+        Map<String, List<Integer>> grouped = new HashMap<>();
+        for (Movie winner : winners) {
+            for (String producer : Names.split(winner.getProducers())) {
+                grouped.computeIfAbsent(producer, k -> new ArrayList<>()).add(winner.getYear());
+            }
+        }
+        producers = grouped.keySet().toArray(String[]::new);
+        winYears = new int[producers.length][];
+        for (int i = 0; i < producers.length; i++) {
+            winYears[i] = grouped.get(producers[i]).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        Movie movie = winners.get(winners.size() / 2).toBuilder().id(null).year(2030).build();
+        newWinner = List.of(movie);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        calculator.shutdown();
+    }
+
+    @Benchmark
+    public AwardIntervalResponse fullRecompute() {
+        return legacyIntervals(winners);
+    }
+
+    @Benchmark
+    public AwardIntervalResponse indexRead() {
+        return index.getResponse();
+    }
+
+    @Benchmark
+    public AwardIntervalResponse indexRebuild() {
+        ProducerIntervalIndex rebuilt = new ProducerIntervalIndex();
+        rebuilt.rebuild(winners);
+        return rebuilt.getResponse();
+    }
+
+    @Benchmark
+    public AwardIntervalResponse indexApplyWinner() {
+        index.apply(Collections.emptyList(), newWinner);
+        index.apply(newWinner, Collections.emptyList());
+        return index.getResponse();
+    }
+
+    @Benchmark
+    public AwardIntervalResponse parallel() {
+        return calculator.calculate(producers, winYears);
+    }
+
+    /**
+     * Cópia do algoritmo original de {@code AwardsService}, mantida como referência.
+     */
+    private static AwardIntervalResponse legacyIntervals(List<Movie> winners) {
+        Map<String, List<Integer>> producerWins = new HashMap<>();
+        for (Movie winner : winners) {
+            String[] producers = winner.getProducers().split(",|\\s+and\\s+");
+            for (String producerName : producers) {
+                String trimmedName = producerName.trim();
+                if (!trimmedName.isEmpty()) {
+                    producerWins.computeIfAbsent(trimmedName, k -> new ArrayList<>()).add(winner.getYear());
+                }
+            }
+        }
+
+        List<ProducerInterval> allIntervals = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : producerWins.entrySet()) {
+            List<Integer> years = entry.getValue().stream().sorted().toList();
+            for (int i = 0; i < years.size() - 1; i++) {
+                allIntervals.add(new ProducerInterval(entry.getKey(), years.get(i + 1) - years.get(i), years.get(i), years.get(i + 1)));
+            }
+        }
+        if (allIntervals.isEmpty()) {
+            return new AwardIntervalResponse(Collections.emptyList(), Collections.emptyList());
+        }
+
+        int minInterval = allIntervals.stream().min(Comparator.comparingInt(ProducerInterval::getInterval)).get().getInterval();
+        int maxInterval = allIntervals.stream().max(Comparator.comparingInt(ProducerInterval::getInterval)).get().getInterval();
+        return new AwardIntervalResponse(
+                allIntervals.stream().filter(p -> p.getInterval() == minInterval).collect(Collectors.toList()),
+                allIntervals.stream().filter(p -> p.getInterval() == maxInterval).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.awards.benchmark;
+
+import com.awards.dto.AwardIntervalResponse;
+import com.awards.entity.Movie;
+import com.awards.index.ProducerIntervalIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson do {@link AwardIntervalResponse} produzido para cada tamanho de catálogo.
+ * Catálogos maiores geram mais empates no menor e no maior intervalo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class SerializationBenchmark {
+
+    @Param({"200", "10000", "1000000"})
+    public int rows;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AwardIntervalResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Movie> winners = SyntheticMovieData.movies(rows).stream().filter(Movie::getWinner).toList();
+        ProducerIntervalIndex index = new ProducerIntervalIndex();
+        index.rebuild(winners);
+        response = index.getResponse();
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,72 @@
+package com.awards.benchmark;
+
+import com.awards.entity.Movie;
+import com.awards.index.ProducerIntervalIndex;
+import com.awards.service.MovieCsvParser;
+import com.awards.snapshot.MovieSnapshot;
+import com.awards.util.Names;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo até o índice de intervalos estar pronto a partir de cada fonte: o snapshot binário
+ * mapeado em memória ou o CSV original. Os dois caminhos terminam com o mesmo índice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+public class SnapshotBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    private Path csvFile;
+    private Path snapshotFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvFile = SyntheticMovieData.csvFile(rows);
+        snapshotFile = csvFile.resolveSibling("movies-" + rows + ".snapshot");
+        if (!Files.exists(snapshotFile)) {
+            MovieSnapshot.Writer writer = new MovieSnapshot.Writer();
+            SyntheticMovieData.movies(rows).forEach(writer::add);
+            writer.write(snapshotFile);
+        }
+    }
+
+    @Benchmark
+    public ProducerIntervalIndex fromSnapshot() throws IOException {
+        ProducerIntervalIndex index = new ProducerIntervalIndex();
+        index.rebuild(MovieSnapshot.read(snapshotFile).winYearsByProducer());
+        return index;
+    }
+
+    @Benchmark
+    public ProducerIntervalIndex fromCsv() throws IOException {
+        Map<String, List<Integer>> winYears = new HashMap<>();
+        try (MovieCsvParser parser = new MovieCsvParser(Files.newInputStream(csvFile))) {
+            Movie movie;
+            while ((movie = parser.next()) != null) {
+                if (movie.getWinner()) {
+                    for (String producer : Names.split(movie.getProducers())) {
+                        winYears.computeIfAbsent(producer, k -> new ArrayList<>()).add(movie.getYear());
+                    }
+                }
+            }
+        }
+        ProducerIntervalIndex index = new ProducerIntervalIndex();
+        index.rebuild(winYears);
+        return index;
+    }
+}
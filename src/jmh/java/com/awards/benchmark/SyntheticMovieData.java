@@ -0,0 +1,132 @@
+package com.awards.benchmark;
+
+import com.awards.entity.Movie;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Gera catálogos sintéticos no formato do {@code movielist.csv}, de 200 a milhões de linhas.
+ * <p>
+ * Os produtores e estúdios são sorteados com distribuição de Zipf, como no arquivo real:
+ * poucos nomes aparecem em muitos filmes e a maioria aparece uma ou duas vezes. Cada ano tem
+ * grupos de cinco indicados com um vencedor, e os anos se repetem para simular várias
+ * categorias, o que gera produtores com dezenas de vitórias e intervalos de todos os tamanhos.
+ * A semente é fixa, então o mesmo tamanho sempre gera os mesmos dados.
+ */
+public final class SyntheticMovieData {
+
+    private static final long SEED = 20_240_301L;
+    private static final int NOMINEES_PER_YEAR = 5;
+    private static final int FIRST_YEAR = 1900;
+    private static final int YEARS = 125;
+    private static final int STUDIOS = 150;
+    private static final double ZIPF_EXPONENT = 1.07;
+    private static final Path DATA_DIRECTORY = Paths.get("target", "jmh-data");
+
+    private SyntheticMovieData() {
+    }
+
+    public static List<Movie> movies(int rows) {
+        List<Movie> movies = new ArrayList<>(rows);
+        forEachMovie(rows, movies::add);
+        return movies;
+    }
+
+    /**
+     * Gera os filmes um a um, sem mantê-los em memória, para que o CSV de 10 milhões de
+     * linhas possa ser escrito com o heap padrão.
+     */
+    private static void forEachMovie(int rows, Consumer<Movie> action) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Zipf producers = new Zipf(Math.max(20, rows / 8), ZIPF_EXPONENT);
+        Zipf studios = new Zipf(STUDIOS, ZIPF_EXPONENT);
+
+        for (int i = 0; i < rows; i++) {
+            Movie movie = new Movie();
+            movie.setYear(FIRST_YEAR + (i / NOMINEES_PER_YEAR) % YEARS);
+            movie.setTitle("Movie " + i);
+            movie.setStudios(joinNames("Studio ", studios, random, random.nextInt(10) < 8 ? 1 : 2));
+            int producerCount = random.nextInt(10) < 6 ? 1 : random.nextInt(10) < 7 ? 2 : 3;
+            movie.setProducers(joinNames("Producer ", producers, random, producerCount));
+            movie.setWinner(i % NOMINEES_PER_YEAR == 0);
+            action.accept(movie);
+        }
+    }
+
+    /**
+     * Retorna um arquivo CSV com {@code rows} linhas, gerado na primeira chamada e reaproveitado
+     * pelas execuções seguintes.
+     */
+    public static Path csvFile(int rows) {
+        Path file = DATA_DIRECTORY.resolve("movies-" + rows + ".csv");
+        if (Files.exists(file)) {
+            return file;
+        }
+        try {
+            Files.createDirectories(DATA_DIRECTORY);
+            Path temporary = Files.createTempFile(DATA_DIRECTORY, "movies-", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                writer.write("year;title;studios;producers;winner\n");
+                forEachMovie(rows, movie -> write(writer, movie));
+            }
+            return Files.move(temporary, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(BufferedWriter writer, Movie movie) {
+        try {
+            writer.write(movie.getYear() + ";" + movie.getTitle() + ";" + movie.getStudios() + ";"
+                    + movie.getProducers() + ";" + (movie.getWinner() ? "yes" : "") + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String joinNames(String prefix, Zipf distribution, SplittableRandom random, int count) {
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                names.append(i == count - 1 ? " and " : ", ");
+            }
+            names.append(prefix).append(distribution.sample(random));
+        }
+        return names.toString();
+    }
+
+    /**
+     * Amostragem de Zipf por busca binária na distribuição acumulada.
+     */
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int size, double exponent) {
+            cumulative = new double[size];
+            double total = 0;
+            for (int rank = 1; rank <= size; rank++) {
+                total += 1 / Math.pow(rank, exponent);
+                cumulative[rank - 1] = total;
+            }
+            for (int i = 0; i < size; i++) {
+                cumulative[i] /= total;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int position = Arrays.binarySearch(cumulative, random.nextDouble());
+            return position >= 0 ? position : Math.min(-position - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.awards.benchmark;
+
+import com.awards.AwardsApi;
+import com.awards.dto.ImportResult;
+import com.awards.repository.MovieRepository;
+import com.awards.service.CsvImportService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede a partida da aplicação com um catálogo grande nos dois modos de armazenamento:
+ * <ul>
+ *     <li>memória (perfil padrão): a cada partida o catálogo precisa ser importado de novo;</li>
+ *     <li>persistent: o catálogo é importado uma vez e os reinícios seguintes só reconstroem
+ *     os índices em memória a partir do banco em arquivo.</li>
+ * </ul>
+ * Parâmetros (propriedades de sistema): {@code startup.rows} (padrão 1000000) e
+ * {@code startup.restarts} (padrão 3).
+ */
+public final class WarmRestartTest {
+
+    private WarmRestartTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("startup.rows", 1_000_000);
+        int restarts = Integer.getInteger("startup.restarts", 3);
+        Path file = SyntheticMovieData.csvFile(rows);
+        Path dataDir = Files.createTempDirectory("awards-startup-");
+
+        long inMemoryStart = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("spring.datasource.url=jdbc:h2:mem:startup-" + rows)) {
+            importFile(context, file);
+        }
+        long inMemoryMillis = millisSince(inMemoryStart);
+
+        long coldStart = System.nanoTime();
+        ImportResult coldImport;
+        try (ConfigurableApplicationContext context = start("spring.profiles.active=persistent", "awards.data-dir=" + dataDir)) {
+            coldImport = importFile(context, file);
+        }
+        long coldMillis = millisSince(coldStart);
+
+        List<Long> restartMillis = new ArrayList<>();
+        long storedMovies = 0;
+        for (int i = 0; i < restarts; i++) {
+            long restartStart = System.nanoTime();
+            try (ConfigurableApplicationContext context = start("spring.profiles.active=persistent", "awards.data-dir=" + dataDir)) {
+                restartMillis.add(millisSince(restartStart));
+                storedMovies = context.getBean(MovieRepository.class).count();
+            }
+        }
+
+        System.out.printf("%n%s%n", BenchmarkEnvironment.describe());
+        System.out.printf("Catálogo sintético: %d linhas, %d MB (%s)%n", rows, Files.size(file) / (1024 * 1024), file);
+        System.out.printf("%-45s %10d ms%n", "memória: partida + importação", inMemoryMillis);
+        System.out.printf("%-45s %10d ms (importação: %d ms)%n", "persistent: primeira partida + importação",
+                coldMillis, coldImport.getElapsedMillis());
+        for (int i = 0; i < restartMillis.size(); i++) {
+            System.out.printf("%-45s %10d ms (%d filmes no banco)%n", "persistent: reinício " + (i + 1),
+                    restartMillis.get(i), storedMovies);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(properties));
+        all.add("server.port=0");
+        all.add("logging.level.root=WARN");
+        all.add("logging.level.com.awards=INFO");
+        return new SpringApplicationBuilder(AwardsApi.class).properties(all.toArray(String[]::new)).run();
+    }
+
+    private static ImportResult importFile(ConfigurableApplicationContext context, Path file) throws Exception {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return context.getBean(CsvImportService.class).importMoviesStreaming(inputStream);
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,33 @@
+package com.awards.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches em memória (Caffeine), limitados em tamanho e tempo de vida e com estatísticas
+ * de acerto publicadas pelo Micrometer ({@code cache.gets}, {@code cache.evictions}...).
+ * <p>
+ * O gerenciador é transacional: valores lidos dentro de uma transação só entram no cache
+ * após o commit, de modo que dados de uma transação desfeita nunca ficam em cache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Filmes por ID, lidos por {@code MovieService.findMovieById}. */
+    public static final String MOVIES = "movies";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${awards.cache.movies.spec:maximumSize=10000,expireAfterWrite=10m}") String moviesSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(MOVIES);
+        cacheManager.setCaffeine(Caffeine.from(moviesSpec).recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,40 +1,88 @@
 package com.awards.config;
 
-import com.awards.entity.Movie;
+import com.awards.dto.ImportResult;
 import com.awards.repository.MovieRepository;
 import com.awards.service.CsvImportService;
+import com.awards.snapshot.SnapshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
+import java.time.Duration;
 
+/**
+ * Importa o {@code movielist.csv} quando o banco está vazio. Com o perfil persistent o banco
+ * já vem preenchido nos reinícios seguintes e a importação é pulada; os índices em memória
+ * são reconstruídos a partir do banco quando o contexto sobe.
+ * <p>
+ * Com {@code awards.snapshot.path} configurado, um banco vazio é restaurado a partir do
+ * snapshot binário, quando existir, em vez do CSV; após a importação do CSV o snapshot é gravado.
+ */
 @Component
 public class DataInitializer implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
     private final MovieRepository movieRepository;
     private final CsvImportService csvImportService;
+    private final SnapshotService snapshotService;
+    private long moviesAtStartup;
+    private ImportResult initialImport;
+    private boolean restoredFromSnapshot;
 
-    public DataInitializer(MovieRepository movieRepository, CsvImportService csvImportService) {
+    public DataInitializer(MovieRepository movieRepository, CsvImportService csvImportService,
+                           SnapshotService snapshotService) {
         this.movieRepository = movieRepository;
         this.csvImportService = csvImportService;
+        this.snapshotService = snapshotService;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        if (movieRepository.count() == 0) {
+        moviesAtStartup = movieRepository.count();
+        if (moviesAtStartup == 0 && snapshotService.restore()) {
+            restoredFromSnapshot = true;
+        } else if (moviesAtStartup == 0) {
             log.info("Database is empty. Initializing with data from movielist.csv");
             try (InputStream inputStream = new ClassPathResource("movielist.csv").getInputStream()) {
-                int count = csvImportService.importMoviesFromCsv(inputStream);
-                log.info("Successfully imported {} movies from the initial file.", count);
+                ImportResult result = csvImportService.importMoviesFromCsv(inputStream);
+                initialImport = result;
+                log.info("Successfully imported {} movies from the initial file.", result.getRows());
             } catch (Exception e) {
                 log.error("Failed to initialize database from CSV file.", e);
             }
+            if (initialImport != null) {
+                try {
+                    snapshotService.write();
+                } catch (Exception e) {
+                    log.error("Failed to write the movie snapshot after the initial import.", e);
+                }
+            }
+        } else {
+            log.info("Database already contains {} movies. Skipping initialization.", moviesAtStartup);
+        }
+    }
+
+    /**
+     * Registra quanto tempo a aplicação levou para ficar pronta e se o CSV precisou ser importado,
+     * para comparar a partida a frio com o reinício sobre um banco já preenchido.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportStartup(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        long readyMillis = timeTaken == null ? -1 : timeTaken.toMillis();
+        if (restoredFromSnapshot) {
+            log.info("Startup finished in {} ms from the movie snapshot; the database is being filled in the background.",
+                    readyMillis);
+        } else if (initialImport != null) {
+            log.info("Startup finished in {} ms, including the initial import of {} movies in {} ms.",
+                    readyMillis, initialImport.getRows(), initialImport.getElapsedMillis());
         } else {
-            log.info("Database already contains data. Skipping initialization.");
+            log.info("Startup finished in {} ms with {} movies already stored (no import).", readyMillis, moviesAtStartup);
         }
     }
 }
\ No newline at end of file
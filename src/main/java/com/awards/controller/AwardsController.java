@@ -1,69 +1,260 @@
 package com.awards.controller;
 
 import com.awards.dto.AwardIntervalResponse;
+import com.awards.dto.ImportJobStatus;
+import com.awards.dto.ImportResult;
+import com.awards.dto.ProducerWins;
+import com.awards.repository.MovieKey;
 import com.awards.service.AwardsService;
+import com.awards.service.CsvFormatException;
+import com.awards.service.CsvLineTooLongException;
 import com.awards.service.CsvImportService;
-import com.opencsv.exceptions.CsvValidationException;
+import com.awards.service.DatasetVersion;
+import com.awards.service.ImportJob;
+import com.awards.service.ImportMode;
+import com.awards.service.ImportJobService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/awards")
 @Tag(name = "Awards", description = "Endpoints para análise de dados dos prêmios")
 public class AwardsController {
 
+    /** Os clientes podem guardar a resposta, mas devem revalidá-la com a ETag a cada uso. */
+    private static final CacheControl INTERVALS_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private static final String DUPLICATE_MOVIES_MESSAGE =
+            "O arquivo contém filmes já cadastrados (mesmo ano e título). Use mode=upsert para atualizá-los.";
+
+    private static final String REJECTED_VALUES_MESSAGE =
+            "O arquivo contém valores recusados pelo banco de dados, como textos longos demais ou campos obrigatórios vazios.";
+
     private final AwardsService awardsService;
     private final CsvImportService csvImportService;
+    private final DatasetVersion datasetVersion;
+    private final ImportJobService importJobService;
 
-    public AwardsController(AwardsService awardsService, CsvImportService csvImportService) {
+    public AwardsController(AwardsService awardsService, CsvImportService csvImportService, DatasetVersion datasetVersion,
+                            ImportJobService importJobService) {
         this.awardsService = awardsService;
         this.csvImportService = csvImportService;
+        this.datasetVersion = datasetVersion;
+        this.importJobService = importJobService;
     }
 
     @Operation(summary = "Obter intervalos de prêmios",
-            description = "Calcula e retorna o produtor com o maior intervalo entre dois prêmios consecutivos e o que obteve dois prêmios mais rápido.")
+            description = "Calcula e retorna o produtor com o maior intervalo entre dois prêmios consecutivos e o que obteve dois prêmios mais rápido. "
+                    + "Os filtros opcionais restringem o cálculo às vitórias entre from e to e aos filmes de um estúdio; "
+                    + "limit devolve os N menores e os N maiores intervalos em vez de apenas os empates nos extremos.")
     @ApiResponse(responseCode = "200", description = "Resultado do cálculo dos intervalos.",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = AwardIntervalResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Os dados não mudaram desde a ETag enviada em If-None-Match.", content = @Content)
+    @ApiResponse(responseCode = "400", description = "Limite negativo ou from maior que to.", content = @Content)
     @GetMapping("/producers/intervals")
-    public ResponseEntity<AwardIntervalResponse> getProducerIntervals() {
-        return ResponseEntity.ok(awardsService.getProducersAwardIntervals());
+    public ResponseEntity<AwardIntervalResponse> getProducerIntervals(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(description = "Primeiro ano considerado") @RequestParam(required = false) Integer from,
+            @Parameter(description = "Último ano considerado") @RequestParam(required = false) Integer to,
+            @Parameter(description = "Quantidade de intervalos em cada lista") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Nome do estúdio") @RequestParam(required = false) String studio) {
+        int fromYear = from == null ? Integer.MIN_VALUE : from;
+        int toYear = to == null ? Integer.MAX_VALUE : to;
+        if ((limit != null && limit < 0) || fromYear > toYear) {
+            return ResponseEntity.badRequest().build();
+        }
+        String eTag = datasetVersion.getETag();
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(INTERVALS_CACHE_CONTROL).build();
+        }
+        boolean filtered = from != null || to != null || limit != null || studio != null;
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(INTERVALS_CACHE_CONTROL)
+                .body(filtered
+                        ? awardsService.getProducersAwardIntervals(fromYear, toYear, limit == null ? 0 : limit, studio)
+                        : awardsService.getProducersAwardIntervals());
+    }
+
+    @Operation(summary = "Obter vitórias de um produtor",
+            description = "Retorna os anos em que o produtor informado venceu, em ordem crescente.")
+    @ApiResponse(responseCode = "200", description = "Anos de vitória do produtor.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProducerWins.class)))
+    @ApiResponse(responseCode = "404", description = "Produtor não encontrado.", content = @Content)
+    @GetMapping("/producers/{name}/wins")
+    public ResponseEntity<ProducerWins> getProducerWins(@Parameter(description = "Nome do produtor", required = true) @PathVariable String name) {
+        return awardsService.getProducerWins(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Upload de novo arquivo de filmes",
-            description = "Envia um novo arquivo CSV para ser processado e adicionado à base de dados.")
+            description = "Envia um novo arquivo CSV para ser processado e adicionado à base de dados. Com mode=upsert, "
+                    + "filmes já existentes (mesmo ano e título) são atualizados em vez de rejeitados, e reenviar o mesmo "
+                    + "arquivo não altera nada. Com mode=delta, o arquivo é tratado como o catálogo completo: apenas as linhas "
+                    + "novas ou alteradas são gravadas e os filmes ausentes do arquivo são removidos.")
     @ApiResponse(responseCode = "200", description = "Arquivo processado com sucesso.")
-    @ApiResponse(responseCode = "400", description = "Arquivo vazio, com formato inválido ou com dados mal formatados.")
+    @ApiResponse(responseCode = "400", description = "Arquivo vazio, com formato inválido, com dados mal formatados, com valores recusados pelo banco ou modo desconhecido.")
+    @ApiResponse(responseCode = "409", description = "O arquivo contém filmes já existentes e o modo é insert.")
     @ApiResponse(responseCode = "415", description = "Tipo de arquivo não suportado. Apenas text/csv é aceito.")
     @ApiResponse(responseCode = "500", description = "Erro interno no servidor durante o processamento do arquivo.")
     @PostMapping(value = "/upload-movies", consumes = "multipart/form-data")
-    public ResponseEntity<String> uploadNewMoviesFile(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<String> uploadNewMoviesFile(@RequestParam("file") MultipartFile file,
+                                                      @Parameter(description = "insert, upsert ou delta") @RequestParam(defaultValue = "insert") String mode) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body("Arquivo não pode ser vazio.");
         }
         if (!Objects.equals(file.getContentType(), "text/csv")) {
             return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body("Tipo de arquivo inválido. Apenas CSV é permitido.");
         }
+        ImportMode importMode = ImportMode.of(mode).orElse(null);
+        if (importMode == null) {
+            return ResponseEntity.badRequest().body("Modo de importação desconhecido. Use insert, upsert ou delta.");
+        }
 
         try {
-            int importedCount = csvImportService.importMoviesFromCsv(file.getInputStream());
-            String message = String.format("Arquivo processado com sucesso. %d filmes foram importados.", importedCount);
-            return ResponseEntity.ok(message);
-        } catch (NumberFormatException | CsvValidationException e) {
+            return ResponseEntity.ok(successMessage(csvImportService.importMoviesFromCsv(file.getInputStream(), importMode)));
+        } catch (CsvFormatException | CsvLineTooLongException e) {
             return ResponseEntity.badRequest().body("Erro de formatação no arquivo CSV: " + e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            return integrityViolation(e);
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao ler o arquivo: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Ocorreu um erro inesperado ao processar o arquivo: " + e.getMessage());
         }
     }
+
+    @Operation(summary = "Upload de arquivo de filmes em streaming",
+            description = "Recebe o CSV diretamente no corpo da requisição (sem multipart) e o importa à medida que é lido, "
+                    + "com uso de memória constante. Indicado para arquivos muito grandes.")
+    @ApiResponse(responseCode = "200", description = "Arquivo processado com sucesso.")
+    @ApiResponse(responseCode = "400", description = "Arquivo com dados mal formatados ou valores recusados pelo banco.")
+    @ApiResponse(responseCode = "409", description = "O arquivo contém filmes já existentes.")
+    @ApiResponse(responseCode = "500", description = "Erro interno no servidor durante o processamento do arquivo.")
+    @PostMapping(value = "/upload-movies/stream", consumes = "text/csv")
+    public ResponseEntity<String> streamNewMoviesFile(InputStream body) {
+        try {
+            return ResponseEntity.ok(successMessage(csvImportService.importMoviesStreaming(body)));
+        } catch (CsvFormatException | CsvLineTooLongException e) {
+            return ResponseEntity.badRequest().body("Erro de formatação no arquivo CSV: " + e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            return integrityViolation(e);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao ler o arquivo: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Ocorreu um erro inesperado ao processar o arquivo: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Agendar importação de arquivo de filmes",
+            description = "Recebe o arquivo CSV e agenda a importação em segundo plano. A resposta traz o id do job, "
+                    + "cujo andamento pode ser consultado em /awards/imports/{id}.")
+    @ApiResponse(responseCode = "202", description = "Importação agendada.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobStatus.class)))
+    @ApiResponse(responseCode = "400", description = "Arquivo vazio.")
+    @ApiResponse(responseCode = "415", description = "Tipo de arquivo não suportado. Apenas text/csv é aceito.")
+    @ApiResponse(responseCode = "503", description = "A fila de importações está cheia.")
+    @PostMapping(value = "/imports", consumes = "multipart/form-data")
+    public ResponseEntity<?> submitImport(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Arquivo não pode ser vazio.");
+        }
+        if (!Objects.equals(file.getContentType(), "text/csv")) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body("Tipo de arquivo inválido. Apenas CSV é permitido.");
+        }
+
+        try (InputStream content = file.getInputStream()) {
+            ImportJob job = importJobService.submit(content);
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.getId()).toUri();
+            return ResponseEntity.accepted().location(location).body(job.toStatus());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Há importações demais na fila. Tente novamente mais tarde.");
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao ler o arquivo: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Consultar importação",
+            description = "Retorna a situação de uma importação agendada: linhas lidas, linhas gravadas, vazão e erros.")
+    @ApiResponse(responseCode = "200", description = "Situação da importação.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobStatus.class)))
+    @ApiResponse(responseCode = "404", description = "Importação não encontrada.", content = @Content)
+    @GetMapping("/imports/{id}")
+    public ResponseEntity<ImportJobStatus> getImport(@Parameter(description = "Id da importação", required = true) @PathVariable String id) {
+        return importJobService.findJob(id)
+                .map(job -> ResponseEntity.ok(job.toStatus()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Cancelar importação",
+            description = "Pede o cancelamento de uma importação. O job para antes de gravar o próximo lote e nada do arquivo é mantido.")
+    @ApiResponse(responseCode = "202", description = "Cancelamento solicitado.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobStatus.class)))
+    @ApiResponse(responseCode = "404", description = "Importação não encontrada.", content = @Content)
+    @ApiResponse(responseCode = "409", description = "A importação já terminou.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobStatus.class)))
+    @DeleteMapping("/imports/{id}")
+    public ResponseEntity<ImportJobStatus> cancelImport(@Parameter(description = "Id da importação", required = true) @PathVariable String id) {
+        return importJobService.findJob(id)
+                .map(job -> job.requestCancel()
+                        ? ResponseEntity.accepted().body(job.toStatus())
+                        : ResponseEntity.status(HttpStatus.CONFLICT).body(job.toStatus()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Verifica se alguma das ETags de um cabeçalho If-None-Match corresponde à ETag atual.
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag) || trimmed.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Só a chave natural repetida é um conflito; as demais restrições (tamanho de coluna,
+     * valor nulo) recusam dados do próprio arquivo.
+     */
+    private static ResponseEntity<String> integrityViolation(DataIntegrityViolationException e) {
+        if (MovieKey.isViolatedBy(e)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(DUPLICATE_MOVIES_MESSAGE);
+        }
+        return ResponseEntity.badRequest().body(REJECTED_VALUES_MESSAGE);
+    }
+
+    private static String successMessage(ImportResult result) {
+        if (result.getUpdated() > 0 || result.getUnchanged() > 0 || result.getDeleted() > 0) {
+            return String.format("Arquivo processado com sucesso. %d filmes foram lidos em %d ms: %d inseridos, %d atualizados, %d removidos e %d sem alteração.",
+                    result.getRows(), result.getElapsedMillis(), result.getInserted(), result.getUpdated(), result.getDeleted(),
+                    result.getUnchanged());
+        }
+        return String.format("Arquivo processado com sucesso. %d filmes foram importados em %d ms (%.0f filmes/s).",
+                result.getRows(), result.getElapsedMillis(), result.getRowsPerSecond());
+    }
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.awards.controller;
 
+import com.awards.dto.BulkResult;
+import com.awards.dto.MovieCursorPage;
 import com.awards.entity.Movie;
+import com.awards.repository.MovieKey;
+import com.awards.service.MovieExportService;
+import com.awards.service.MovieExportService.ExportFormat;
 import com.awards.service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,21 +17,31 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/movies")
 @Tag(name = "Movies", description = "Endpoints para o gerenciamento completo de filmes (CRUD)")
 public class MovieController {
 
+    private static final int MAX_BULK_ITEMS = 10_000;
+
     private final MovieService movieService;
+    private final MovieExportService movieExportService;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, MovieExportService movieExportService) {
         this.movieService = movieService;
+        this.movieExportService = movieExportService;
     }
 
     @Operation(summary = "Listar todos os filmes", description = "Retorna uma lista paginada de todos os filmes na base de dados.")
@@ -37,6 +52,52 @@ public class MovieController {
         return ResponseEntity.ok(movieService.findAllMovies(PageRequest.of(pageNumber,size)));
     }
 
+    @Operation(summary = "Listar filmes por cursor",
+            description = "Percorre o catálogo em ordem de ID sem contagem total nem OFFSET. Envie em 'after' o 'nextCursor' "
+                    + "da resposta anterior. 'fields' limita os campos retornados (id, year, title, studios, producers, winner).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de filmes após o cursor."),
+            @ApiResponse(responseCode = "400", description = "Tamanho de página ou campo inválido.", content = @Content)
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<MovieCursorPage> getMoviesAfter(@RequestParam(defaultValue = "0") long after,
+                                                          @RequestParam(defaultValue = "100") int size,
+                                                          @RequestParam(required = false) List<String> fields) {
+        if (size < 1 || size > 1000) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(movieService.findMoviesAfter(after, size, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Exportar filmes",
+            description = "Transmite todos os filmes (ou apenas os vencedores de um intervalo de anos) em NDJSON ou no mesmo "
+                    + "CSV separado por ';' aceito pela importação. A resposta é escrita à medida que o banco é lido.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Filmes exportados."),
+            @ApiResponse(responseCode = "400", description = "Formato desconhecido. Use ndjson ou csv.", content = @Content)
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMovies(@RequestParam(defaultValue = "ndjson") String format,
+                                                              @RequestParam(defaultValue = "false") boolean winnersOnly,
+                                                              @RequestParam(defaultValue = "0") int fromYear,
+                                                              @RequestParam(defaultValue = "9999") int toYear) {
+        return ExportFormat.of(format)
+                .map(exportFormat -> exportResponse(exportFormat, winnersOnly, fromYear, toYear))
+                .orElse(ResponseEntity.badRequest().build());
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(ExportFormat format, boolean winnersOnly, int fromYear, int toYear) {
+        StreamingResponseBody body = outputStream -> movieExportService.export(format, winnersOnly, fromYear, toYear, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     @Operation(summary = "Buscar filme por ID", description = "Retorna os detalhes de um filme específico pelo seu ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Filme encontrado com sucesso.", content = @Content(schema = @Schema(implementation = Movie.class))),
@@ -50,7 +111,11 @@ public class MovieController {
     }
 
     @Operation(summary = "Criar um novo filme", description = "Adiciona um novo filme à base de dados.")
-    @ApiResponse(responseCode = "201", description = "Filme criado com sucesso.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Filme criado com sucesso."),
+            @ApiResponse(responseCode = "400", description = "Título, estúdios ou produtores contêm ';', quebras de linha ou valores recusados pelo banco.", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Já existe um filme com o mesmo ano e título.", content = @Content)
+    })
     @PostMapping
     public ResponseEntity<Movie> createMovie(@RequestBody Movie movie) {
         Movie savedMovie = movieService.saveMovie(movie);
@@ -62,19 +127,14 @@ public class MovieController {
     @Operation(summary = "Atualizar um filme", description = "Atualiza todos os dados de um filme existente a partir do seu ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Filme atualizado com sucesso."),
-            @ApiResponse(responseCode = "404", description = "Filme não encontrado para o ID fornecido.", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Título, estúdios ou produtores contêm ';', quebras de linha ou valores recusados pelo banco.", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Filme não encontrado para o ID fornecido.", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Já existe outro filme com o mesmo ano e título.", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<Movie> updateMovie(@Parameter(description = "ID do filme a ser atualizado", required = true) @PathVariable Long id, @RequestBody Movie movieDetails) {
-        return movieService.findMovieById(id)
-                .map(movie -> {
-                    movie.setTitle(movieDetails.getTitle());
-                    movie.setStudios(movieDetails.getStudios());
-                    movie.setProducers(movieDetails.getProducers());
-                    movie.setYear(movieDetails.getYear());
-                    movie.setWinner(movieDetails.getWinner());
-                    return ResponseEntity.ok(movieService.saveMovie(movie));
-                })
+        return movieService.updateMovie(id, movieDetails)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -85,10 +145,69 @@ public class MovieController {
             @ApiResponse(responseCode = "404", description = "Filme não encontrado para o ID fornecido.")
     })
     public ResponseEntity<Void> deleteMovie(@Parameter(description = "ID do filme a ser deletado", required = true) @PathVariable Long id) {
-        if (movieService.findMovieById(id).isPresent()) {
-            movieService.deleteMovie(id);
+        if (movieService.deleteMovie(id)) {
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Criar filmes em lote",
+            description = "Cria todos os filmes enviados em uma única transação. Itens inválidos ou com ano e título já "
+                    + "existentes são recusados individualmente; a resposta traz o resultado de cada item.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resultado de cada item.", content = @Content(schema = @Schema(implementation = BulkResult.class))),
+            @ApiResponse(responseCode = "400", description = "Mais itens que o permitido.", content = @Content)
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResult> createMovies(@RequestBody List<Movie> movies) {
+        if (movies.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(movieService.createMovies(movies));
+    }
+
+    @Operation(summary = "Atualizar filmes em lote",
+            description = "Atualiza completamente os filmes enviados, identificados pelo campo id, em uma única transação. "
+                    + "A resposta traz o resultado de cada item.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resultado de cada item.", content = @Content(schema = @Schema(implementation = BulkResult.class))),
+            @ApiResponse(responseCode = "400", description = "Mais itens que o permitido.", content = @Content)
+    })
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResult> updateMovies(@RequestBody List<Movie> movies) {
+        if (movies.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(movieService.updateMovies(movies));
+    }
+
+    @Operation(summary = "Deletar filmes em lote",
+            description = "Remove os filmes com os IDs enviados em uma única transação. A resposta traz o resultado de cada ID.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resultado de cada item.", content = @Content(schema = @Schema(implementation = BulkResult.class))),
+            @ApiResponse(responseCode = "400", description = "Mais itens que o permitido.", content = @Content)
+    })
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResult> deleteMovies(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(movieService.deleteMovies(ids));
+    }
+
+    /**
+     * Ano e título formam a chave natural do filme; repeti-los é um conflito, não um erro interno.
+     * As demais restrições (tamanho de coluna, valor nulo) recusam os dados enviados.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Void> handleIntegrityViolation(DataIntegrityViolationException e) {
+        return MovieKey.isViolatedBy(e)
+                ? ResponseEntity.status(HttpStatus.CONFLICT).build()
+                : ResponseEntity.badRequest().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidMovie(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
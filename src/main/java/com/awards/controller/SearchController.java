@@ -0,0 +1,90 @@
+package com.awards.controller;
+
+import com.awards.dto.ProducerMovies;
+import com.awards.dto.SearchSuggestion;
+import com.awards.entity.Movie;
+import com.awards.search.MovieSearchIndex;
+import com.awards.search.SearchField;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/search")
+@Tag(name = "Search", description = "Busca textual e autocompletar sobre títulos, produtores e estúdios")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final MovieSearchIndex movieSearchIndex;
+
+    public SearchController(MovieSearchIndex movieSearchIndex) {
+        this.movieSearchIndex = movieSearchIndex;
+    }
+
+    @Operation(summary = "Buscar filmes",
+            description = "Retorna os filmes que contêm todas as palavras de q, sem diferenciar maiúsculas nem acentos, "
+                    + "ordenados por ano e título. 'fields' restringe a busca a title, producer e/ou studio.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Filmes encontrados."),
+            @ApiResponse(responseCode = "400", description = "Limite fora de 1 a 1000 ou campo desconhecido.", content = @Content)
+    })
+    @GetMapping("/movies")
+    public ResponseEntity<List<Movie>> searchMovies(@Parameter(description = "Palavras buscadas", required = true) @RequestParam String q,
+                                                    @Parameter(description = "title, producer ou studio") @RequestParam(required = false) List<String> fields,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        Set<SearchField> searchFields = EnumSet.noneOf(SearchField.class);
+        if (fields != null) {
+            for (String field : fields) {
+                Optional<SearchField> searchField = SearchField.of(field);
+                if (searchField.isEmpty()) {
+                    return ResponseEntity.badRequest().build();
+                }
+                searchFields.add(searchField.get());
+            }
+        }
+        return ResponseEntity.ok(movieSearchIndex.search(q, searchFields, limit));
+    }
+
+    @Operation(summary = "Autocompletar",
+            description = "Sugere títulos, produtores e estúdios em que alguma palavra começa com o prefixo informado, "
+                    + "em ordem alfabética, com a quantidade de filmes de cada sugestão.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sugestões para o prefixo."),
+            @ApiResponse(responseCode = "400", description = "Limite fora de 1 a 1000.", content = @Content)
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SearchSuggestion>> autocomplete(@Parameter(description = "Início do texto digitado", required = true) @RequestParam String prefix,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(movieSearchIndex.autocomplete(prefix, limit));
+    }
+
+    @Operation(summary = "Filmes de um produtor",
+            description = "Retorna os filmes do produtor informado, ordenados por ano, e os anos em que venceu.")
+    @ApiResponse(responseCode = "200", description = "Filmes e vitórias do produtor.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProducerMovies.class)))
+    @ApiResponse(responseCode = "404", description = "Produtor não encontrado.", content = @Content)
+    @GetMapping("/producers/{name}")
+    public ResponseEntity<ProducerMovies> getProducerMovies(@Parameter(description = "Nome do produtor", required = true) @PathVariable String name) {
+        return movieSearchIndex.findProducer(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
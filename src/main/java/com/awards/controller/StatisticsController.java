@@ -0,0 +1,104 @@
+package com.awards.controller;
+
+import com.awards.dto.LeaderboardEntry;
+import com.awards.dto.YearStatistics;
+import com.awards.statistics.AwardStatistics;
+import com.awards.statistics.Ranking;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+@RestController
+@RequestMapping("/awards/statistics")
+@Tag(name = "Statistics", description = "Estatísticas de indicações e vitórias por ano, estúdio e produtor")
+public class StatisticsController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final AwardStatistics awardStatistics;
+
+    public StatisticsController(AwardStatistics awardStatistics) {
+        this.awardStatistics = awardStatistics;
+    }
+
+    @Operation(summary = "Indicações e vitórias por ano",
+            description = "Retorna, em ordem crescente, a quantidade de filmes indicados e vencedores de cada ano entre from e to.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Contadores de cada ano com ao menos um filme."),
+            @ApiResponse(responseCode = "400", description = "from maior que to.", content = @Content)
+    })
+    @GetMapping("/years")
+    public ResponseEntity<List<YearStatistics>> getYears(@Parameter(description = "Primeiro ano considerado") @RequestParam(required = false) Integer from,
+                                                         @Parameter(description = "Último ano considerado") @RequestParam(required = false) Integer to) {
+        int fromYear = from == null ? Integer.MIN_VALUE : from;
+        int toYear = to == null ? Integer.MAX_VALUE : to;
+        if (fromYear > toYear) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(awardStatistics.getYears(fromYear, toYear));
+    }
+
+    @Operation(summary = "Ranking de estúdios",
+            description = "Retorna os estúdios com mais vitórias (orderBy=wins) ou mais indicações (orderBy=nominations).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estúdios em ordem de classificação."),
+            @ApiResponse(responseCode = "400", description = "Limite fora de 1 a 1000 ou ordenação desconhecida.", content = @Content)
+    })
+    @GetMapping("/studios")
+    public ResponseEntity<List<LeaderboardEntry>> getTopStudios(@Parameter(description = "wins ou nominations") @RequestParam(defaultValue = "wins") String orderBy,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        return leaderboard(orderBy, limit, awardStatistics::getTopStudios);
+    }
+
+    @Operation(summary = "Ranking de produtores",
+            description = "Retorna os produtores com mais vitórias (orderBy=wins) ou mais indicações (orderBy=nominations).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Produtores em ordem de classificação."),
+            @ApiResponse(responseCode = "400", description = "Limite fora de 1 a 1000 ou ordenação desconhecida.", content = @Content)
+    })
+    @GetMapping("/producers")
+    public ResponseEntity<List<LeaderboardEntry>> getTopProducers(@Parameter(description = "wins ou nominations") @RequestParam(defaultValue = "wins") String orderBy,
+                                                                  @RequestParam(defaultValue = "10") int limit) {
+        return leaderboard(orderBy, limit, awardStatistics::getTopProducers);
+    }
+
+    @Operation(summary = "Estatísticas de um estúdio", description = "Retorna as indicações e vitórias do estúdio informado.")
+    @ApiResponse(responseCode = "200", description = "Contadores do estúdio.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = LeaderboardEntry.class)))
+    @ApiResponse(responseCode = "404", description = "Estúdio não encontrado.", content = @Content)
+    @GetMapping("/studios/{name}")
+    public ResponseEntity<LeaderboardEntry> getStudio(@Parameter(description = "Nome do estúdio", required = true) @PathVariable String name) {
+        return awardStatistics.getStudio(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Estatísticas de um produtor", description = "Retorna as indicações e vitórias do produtor informado.")
+    @ApiResponse(responseCode = "200", description = "Contadores do produtor.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = LeaderboardEntry.class)))
+    @ApiResponse(responseCode = "404", description = "Produtor não encontrado.", content = @Content)
+    @GetMapping("/producers/{name}")
+    public ResponseEntity<LeaderboardEntry> getProducer(@Parameter(description = "Nome do produtor", required = true) @PathVariable String name) {
+        return awardStatistics.getProducer(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<List<LeaderboardEntry>> leaderboard(String orderBy, int limit,
+                                                                      BiFunction<Ranking, Integer, List<LeaderboardEntry>> query) {
+        Ranking ranking = Ranking.of(orderBy).orElse(null);
+        if (ranking == null || limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(query.apply(ranking, limit));
+    }
+}
@@ -0,0 +1,29 @@
+package com.awards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /** Não existe filme com o ID informado. */
+        NOT_FOUND,
+        /** Campos obrigatórios ausentes ou ID repetido na requisição. */
+        INVALID,
+        /** Outro filme já usa o mesmo ano e título. */
+        CONFLICT
+    }
+
+    /** Posição do item na requisição. */
+    private int index;
+    private Long id;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.awards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+    /** Um resultado por item, na mesma ordem da requisição. */
+    private List<BulkItemResult> items;
+    private int succeeded;
+    private int failed;
+
+    public static BulkResult of(List<BulkItemResult> items, int succeeded) {
+        return new BulkResult(items, succeeded, items.size() - succeeded);
+    }
+}
@@ -0,0 +1,22 @@
+package com.awards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobStatus {
+    private String id;
+    private String status;
+    private Instant submittedAt;
+    private long rowsParsed;
+    private long rowsWritten;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<String> errors;
+}
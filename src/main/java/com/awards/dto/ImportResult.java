@@ -0,0 +1,28 @@
+package com.awards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    private int rows;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int deleted;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    public static ImportResult of(int rows, long elapsedNanos) {
+        return of(rows, rows, 0, 0, 0, elapsedNanos);
+    }
+
+    public static ImportResult of(int rows, int inserted, int updated, int unchanged, int deleted, long elapsedNanos) {
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        double rowsPerSecond = elapsedNanos == 0 ? rows : rows * 1_000_000_000d / elapsedNanos;
+        return new ImportResult(rows, inserted, updated, unchanged, deleted, elapsedMillis, rowsPerSecond);
+    }
+}
@@ -0,0 +1,14 @@
+package com.awards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private String name;
+    private int nominations;
+    private int wins;
+}
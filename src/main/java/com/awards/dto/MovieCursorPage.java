@@ -0,0 +1,19 @@
+package com.awards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieCursorPage {
+    private List<Map<String, Object>> content;
+    private int size;
+    private boolean hasNext;
+    /** Valor a enviar em {@code after} para obter a próxima página, ou {@code null} na última. */
+    private Long nextCursor;
+}
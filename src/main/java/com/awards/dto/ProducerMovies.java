@@ -0,0 +1,17 @@
+package com.awards.dto;
+
+import com.awards.entity.Movie;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProducerMovies {
+    private String producer;
+    private List<Movie> movies;
+    private List<Integer> winYears;
+}
@@ -0,0 +1,15 @@
+package com.awards.dto;
+
+import com.awards.search.SearchField;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestion {
+    private SearchField field;
+    private String text;
+    private int movies;
+}
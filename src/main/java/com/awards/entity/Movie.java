@@ -1,16 +1,19 @@
 package com.awards.entity;
 
+import com.awards.util.Fingerprints;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
+
+import java.util.Set;
 
 @Entity
+@Table(indexes = @Index(name = "idx_movie_winner_year", columnList = "winner, releaseYear"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_movie_year_title", columnNames = {"releaseYear", "title"}))
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Movie {
@@ -31,10 +34,58 @@ public class Movie {
     private String studios;
 
     @NotBlank
+    @Lob
     @Column(name = "producers", nullable = false, columnDefinition = "TEXT")
     private String producers;
 
     @Column(name = "winner")
     private Boolean winner;
 
+    /**
+     * Hash de ano, título, estúdios, produtores e vencedor, recalculado a cada gravação.
+     * Usado pela importação em modo delta para descobrir quais linhas mudaram.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Column(name = "fingerprint")
+    private Long fingerprint;
+
+    /**
+     * Produtores de {@link #producers} já normalizados, preenchidos na gravação.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToMany
+    @JoinTable(name = "movie_producer",
+            joinColumns = @JoinColumn(name = "movie_id"),
+            inverseJoinColumns = @JoinColumn(name = "producer_id"))
+    private Set<Producer> producerEntities;
+
+    /**
+     * Estúdios de {@link #studios} já normalizados, preenchidos na gravação.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToMany
+    @JoinTable(name = "movie_studio",
+            joinColumns = @JoinColumn(name = "movie_id"),
+            inverseJoinColumns = @JoinColumn(name = "studio_id"))
+    private Set<Studio> studioEntities;
+
+    /**
+     * Calcula o {@link #fingerprint} a partir dos valores atuais, sem alterá-lo.
+     */
+    public long computeFingerprint() {
+        return Fingerprints.of(String.valueOf(year), title, studios, producers, String.valueOf(Boolean.TRUE.equals(winner)));
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateFingerprint() {
+        fingerprint = computeFingerprint();
+    }
+
 }
\ No newline at end of file
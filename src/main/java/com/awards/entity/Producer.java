@@ -0,0 +1,24 @@
+package com.awards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "producer", uniqueConstraints = @UniqueConstraint(name = "uk_producer_name", columnNames = "name"))
+public class Producer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    public Producer(String name) {
+        this.name = name;
+    }
+}
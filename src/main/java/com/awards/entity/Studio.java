@@ -0,0 +1,24 @@
+package com.awards.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "studio", uniqueConstraints = @UniqueConstraint(name = "uk_studio_name", columnNames = "name"))
+public class Studio {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    public Studio(String name) {
+        this.name = name;
+    }
+}
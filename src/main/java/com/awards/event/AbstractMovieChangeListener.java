@@ -0,0 +1,49 @@
+package com.awards.event;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Estado em memória derivado dos filmes: montado a partir do banco na inicialização e em
+ * recargas completas e ajustado pelos demais {@link MoviesChangedEvent} após o commit.
+ * O conteúdo novo é montado fora do {@link MovieChangeGate} e instalado com ele adquirido,
+ * seguido das alterações confirmadas durante a leitura, de modo que nenhuma é apagada pela
+ * reconstrução nem aplicada duas vezes.
+ */
+public abstract class AbstractMovieChangeListener {
+
+    private final MovieChangeGate movieChangeGate;
+
+    protected AbstractMovieChangeListener(MovieChangeGate movieChangeGate) {
+        this.movieChangeGate = movieChangeGate;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuild() {
+        movieChangeGate.rebuild(this::loadFromDatabase, this::applyChange);
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoviesChanged(MoviesChangedEvent event) {
+        if (event.isReload()) {
+            rebuild();
+        } else {
+            movieChangeGate.run(() -> applyChange(event));
+        }
+    }
+
+    /**
+     * Lê o banco e monta um conteúdo novo sem alterar o atual, que segue atendendo as consultas.
+     *
+     * @return A ação que troca o conteúdo atual pelo montado.
+     */
+    protected abstract Runnable loadFromDatabase();
+
+    /**
+     * Aplica uma alteração descrita filme a filme.
+     */
+    protected abstract void applyChange(MoviesChangedEvent event);
+}
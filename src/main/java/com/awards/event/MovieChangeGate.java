@@ -0,0 +1,172 @@
+package com.awards.event;
+
+import com.awards.service.DatasetVersion;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Ordena a manutenção do estado em memória derivado dos filmes: uma alteração e a troca de
+ * conteúdo feita por uma reconstrução a partir do banco nunca se intercalam, e nenhuma alteração
+ * é descartada ou aplicada duas vezes.
+ * <p>
+ * A transação que publica um {@link MoviesChangedEvent} com filmes adquire o lock antes do
+ * commit e só o libera depois que os ouvintes aplicaram o evento. A reconstrução segura o lock
+ * apenas em dois trechos curtos, sem tomar conexões novas: para fixar o snapshot da sua
+ * transação, já aberta, e para instalar o conteúdo montado. A leitura do banco e a montagem rodam
+ * com o lock livre; as alterações confirmadas nesse meio tempo ficam num diário, marcadas com a
+ * {@link DatasetVersion} que produziram, e são reaplicadas sobre o conteúdo novo.
+ */
+@Component
+public class MovieChangeGate {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final DatasetVersion datasetVersion;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    /** Alterações confirmadas depois do snapshot da reconstrução mais antiga em andamento. */
+    private final Deque<JournalEntry> journal = new ArrayDeque<>();
+    /** Versão fixada por cada reconstrução em andamento; o diário só é mantido enquanto houver alguma. */
+    private final List<Long> pinnedVersions = new ArrayList<>();
+
+    public MovieChangeGate(DatasetVersion datasetVersion, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        this.datasetVersion = datasetVersion;
+        this.jdbcTemplate = jdbcTemplate;
+        // Transação própria, mesmo quando chamada após o commit de outra; no H2, a primeira
+        // leitura de uma transação serializável fixa o snapshot de todas as tabelas
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Executa {@code action} com o lock adquirido. Chamadas aninhadas na mesma thread, como os
+     * ouvintes que rodam após o commit de uma transação que já o adquiriu, não bloqueiam.
+     */
+    public void run(Runnable action) {
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Monta um conteúdo novo a partir do banco e o instala no lugar do atual.
+     * <p>
+     * A conexão é tomada antes do lock. Com ele adquirido, a primeira leitura fixa o snapshot e a
+     * versão correspondente; a leitura completa e a montagem rodam depois de liberá-lo, enquanto
+     * outras transações confirmam alterações normalmente.
+     *
+     * @param load   Lê o banco e monta o conteúdo, sem alterar o atual. A ação devolvida o instala.
+     * @param replay Aplica ao conteúdo instalado uma alteração que o snapshot não enxergou.
+     */
+    public void rebuild(Supplier<Runnable> load, Consumer<MoviesChangedEvent> replay) {
+        snapshotTransaction.executeWithoutResult(status -> {
+            long pinnedVersion = pin();
+            try {
+                Runnable install = load.get();
+                run(() -> {
+                    install.run();
+                    for (JournalEntry entry : journal) {
+                        if (entry.version() > pinnedVersion) {
+                            replay.accept(entry.event());
+                        }
+                    }
+                });
+            } finally {
+                unpin(pinnedVersion);
+            }
+        });
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void acquireBeforeCommit(MoviesChangedEvent event) {
+        if (event.isReload()) {
+            // Não há alteração a ordenar: a reconstrução lê o banco depois do commit
+            return;
+        }
+        CommitHold hold = (CommitHold) TransactionSynchronizationManager.getResource(this);
+        if (hold == null) {
+            lock.lock();
+            hold = new CommitHold();
+            TransactionSynchronizationManager.bindResource(this, hold);
+            TransactionSynchronizationManager.registerSynchronization(hold);
+        }
+        hold.events.add(event);
+    }
+
+    private long pin() {
+        lock.lock();
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            long version = datasetVersion.get();
+            pinnedVersions.add(version);
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unpin(long version) {
+        lock.lock();
+        try {
+            pinnedVersions.remove(Long.valueOf(version));
+            long oldest = pinnedVersions.stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+            journal.removeIf(entry -> entry.version() <= oldest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record JournalEntry(long version, MoviesChangedEvent event) {
+    }
+
+    /**
+     * Lock de uma transação, registrado junto com a aquisição. Roda depois dos ouvintes de
+     * {@code AFTER_COMMIT}, inclusive do incremento da {@link DatasetVersion}, e libera o lock
+     * também após um rollback.
+     */
+    private final class CommitHold implements TransactionSynchronization {
+
+        private final List<MoviesChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(MovieChangeGate.this);
+            try {
+                if (status == STATUS_COMMITTED && !pinnedVersions.isEmpty()) {
+                    long version = datasetVersion.get();
+                    events.forEach(event -> journal.add(new JournalEntry(version, event)));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
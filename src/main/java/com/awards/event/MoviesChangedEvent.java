@@ -0,0 +1,49 @@
+package com.awards.event;
+
+import com.awards.entity.Movie;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Publicado sempre que filmes são gravados ou removidos. Atualizações são representadas
+ * pelo estado anterior em {@code removed} e pelo novo estado em {@code added}.
+ * Os filmes carregados pelo evento são cópias desanexadas do contexto de persistência.
+ * <p>
+ * Cargas grandes demais para serem descritas linha a linha publicam {@link #reloaded()}:
+ * nesse caso os ouvintes devem reconstruir seu estado a partir do banco.
+ */
+@Getter
+public class MoviesChangedEvent {
+
+    private final List<Movie> removed;
+    private final List<Movie> added;
+    private final boolean reload;
+
+    private MoviesChangedEvent(List<Movie> removed, List<Movie> added, boolean reload) {
+        this.removed = removed;
+        this.added = added;
+        this.reload = reload;
+    }
+
+    public static MoviesChangedEvent added(List<Movie> added) {
+        return new MoviesChangedEvent(Collections.emptyList(), copyOf(added), false);
+    }
+
+    public static MoviesChangedEvent removed(List<Movie> removed) {
+        return new MoviesChangedEvent(copyOf(removed), Collections.emptyList(), false);
+    }
+
+    public static MoviesChangedEvent replaced(List<Movie> previous, List<Movie> current) {
+        return new MoviesChangedEvent(copyOf(previous), copyOf(current), false);
+    }
+
+    public static MoviesChangedEvent reloaded() {
+        return new MoviesChangedEvent(Collections.emptyList(), Collections.emptyList(), true);
+    }
+
+    private static List<Movie> copyOf(List<Movie> movies) {
+        return movies.stream().map(movie -> movie.toBuilder().build()).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.awards.index;
+
+import com.awards.event.AbstractMovieChangeListener;
+import com.awards.event.MovieChangeGate;
+import com.awards.event.MoviesChangedEvent;
+import com.awards.metrics.IntervalMetrics;
+import com.awards.repository.ProducerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém os índices em memória sincronizados com o banco: constrói tudo uma vez na
+ * inicialização e aplica cada {@link MoviesChangedEvent} somente após o commit da transação.
+ * As duas consultas da reconstrução rodam na transação aberta pelo {@link MovieChangeGate} e
+ * enxergam o mesmo snapshot do banco.
+ */
+@Component
+public class MovieIndexListener extends AbstractMovieChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieIndexListener.class);
+    private final ProducerRepository producerRepository;
+    private final ProducerIntervalIndex producerIntervalIndex;
+    private final Timer queryTimer;
+    private final Timer groupTimer;
+    private final Timer scanTimer;
+    private final Timer applyTimer;
+
+    public MovieIndexListener(ProducerRepository producerRepository, ProducerIntervalIndex producerIntervalIndex,
+                              MeterRegistry meterRegistry, MovieChangeGate movieChangeGate) {
+        super(movieChangeGate);
+        this.producerRepository = producerRepository;
+        this.producerIntervalIndex = producerIntervalIndex;
+        this.queryTimer = IntervalMetrics.phaseTimer(meterRegistry, "index", "query");
+        this.groupTimer = IntervalMetrics.phaseTimer(meterRegistry, "index", "group");
+        this.scanTimer = IntervalMetrics.phaseTimer(meterRegistry, "index", "scan");
+        this.applyTimer = Timer.builder("awards.index.apply")
+                .description("Tempo para aplicar uma alteração de filmes ao índice de intervalos")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Runnable loadFromDatabase() {
+        long startTime = System.nanoTime();
+        List<Object[]> rows = queryTimer.record(producerRepository::findAllWinYears);
+        List<Object[]> studioRows = queryTimer.record(producerRepository::findAllStudioWinYears);
+
+        long groupStart = System.nanoTime();
+        Map<String, List<Integer>> winYearsByProducer = new HashMap<>();
+        for (Object[] row : rows) {
+            winYearsByProducer.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add((Integer) row[1]);
+        }
+        Map<String, Map<String, List<Integer>>> winYearsByStudio = new HashMap<>();
+        for (Object[] row : studioRows) {
+            winYearsByStudio.computeIfAbsent((String) row[0], k -> new HashMap<>())
+                    .computeIfAbsent((String) row[1], k -> new ArrayList<>()).add((Integer) row[2]);
+        }
+        groupTimer.record(System.nanoTime() - groupStart, TimeUnit.NANOSECONDS);
+
+        ProducerIntervalIndex.Contents contents = scanTimer.record(() -> producerIntervalIndex.build(winYearsByProducer, winYearsByStudio));
+        log.info("Producer interval index built from {} win rows in {} ms", rows.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return () -> producerIntervalIndex.install(contents);
+    }
+
+    @Override
+    protected void applyChange(MoviesChangedEvent event) {
+        applyTimer.record(() -> producerIntervalIndex.apply(event.getRemoved(), event.getAdded()));
+    }
+}
@@ -0,0 +1,601 @@
+package com.awards.index;
+
+import com.awards.dto.AwardIntervalResponse;
+import com.awards.dto.ProducerInterval;
+import com.awards.entity.Movie;
+import com.awards.util.Names;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice em memória dos anos de vitória de cada produtor e dos intervalos entre vitórias
+ * consecutivas, agrupados por duração. É atualizado incrementalmente a cada alteração de
+ * vencedores: cada vitória incluída ou removida troca apenas os intervalos vizinhos ao ano
+ * alterado, e a resposta com o menor e o maior intervalo só é remontada quando uma dessas
+ * extremidades muda.
+ * <p>
+ * Os mesmos dados são mantidos por estúdio (contando só as vitórias com filmes do estúdio) e
+ * servem consultas por faixa de anos e top-N através de uma {@link YearIntervalTree}. As
+ * alterações não invalidam a árvore: ficam num pequeno conjunto de diferenças, ordenado pelo ano
+ * da vitória anterior, combinado com ela em cada consulta. Uma cópia imutável da árvore e das
+ * diferenças é montada na primeira consulta após cada alteração e compartilhada pelas seguintes.
+ * Quando o conjunto de diferenças cresce, uma árvore nova é montada numa thread à parte,
+ * fora do lock, e trocada pela antiga ao final. Uma única thread monta as árvores de todos os
+ * conjuntos, em ordem de pedido, por mais estúdios que uma importação altere.
+ */
+@Component
+public class ProducerIntervalIndex {
+
+    /** Menor quantidade de diferenças acumuladas antes de montar uma árvore nova. */
+    private static final int MIN_DELTA = 256;
+    /** Ordem dos empates em cada extremo da resposta, a mesma em todos os motores de cálculo. */
+    public static final Comparator<ProducerInterval> RESPONSE_ORDER = Comparator
+            .comparing(ProducerInterval::getProducer)
+            .thenComparingInt(ProducerInterval::getPreviousWin);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Monta as árvores novas. Cada conjunto tem no máximo uma montagem em andamento, então a fila
+     * não passa do número de estúdios; a thread é criada sob demanda e encerrada quando ociosa.
+     */
+    private final ThreadPoolExecutor treeBuilder = new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), Thread.ofPlatform().name("interval-tree-rebuild").daemon().factory());
+    private IntervalSet all = new IntervalSet();
+    private Map<String, IntervalSet> byStudio = new HashMap<>();
+    /** Resposta sem filtros; {@code null} quando as extremidades mudaram desde a última montagem. */
+    private volatile AwardIntervalResponse response = emptyResponse();
+
+    public ProducerIntervalIndex() {
+        treeBuilder.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return O resultado com os produtores de menor e maior intervalo, remontado apenas se
+     * as extremidades mudaram desde a última chamada.
+     */
+    public AwardIntervalResponse getResponse() {
+        AwardIntervalResponse current = response;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (response == null) {
+                response = all.intervalsByLength.isEmpty() ? emptyResponse() : new AwardIntervalResponse(
+                        sortedCopy(all.intervalsByLength.firstEntry().getValue().keySet()),
+                        sortedCopy(all.intervalsByLength.lastEntry().getValue().keySet()));
+            }
+            return response;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Os intervalos mais curtos e mais longos cujas duas vitórias caem em {@code [from, to]}.
+     *
+     * @param limit  Quantidade máxima em cada lista, da mais extrema para a menos extrema;
+     *               {@code 0} devolve apenas os empatados no menor e no maior intervalo.
+     * @param studio Se informado, considera apenas as vitórias com filmes deste estúdio.
+     */
+    public AwardIntervalResponse query(int from, int to, int limit, String studio) {
+        TreeView view;
+        lock.lock();
+        try {
+            IntervalSet intervals = studio == null ? all : byStudio.get(studio);
+            if (intervals == null) {
+                return emptyResponse();
+            }
+            view = intervals.view();
+        } finally {
+            lock.unlock();
+        }
+        List<ProducerInterval> shortest = select(view.iterator(from, to, YearIntervalTree.SHORTEST_FIRST), limit);
+        List<ProducerInterval> longest = select(view.iterator(from, to, YearIntervalTree.LONGEST_FIRST), limit);
+        if (limit == 0) {
+            return new AwardIntervalResponse(sortedCopy(shortest), sortedCopy(longest));
+        }
+        return new AwardIntervalResponse(shortest, longest);
+    }
+
+    /**
+     * Descarta o conteúdo atual e reconstrói o índice a partir dos filmes informados.
+     */
+    public void rebuild(Collection<Movie> movies) {
+        Map<String, List<Integer>> winYearsByProducer = new HashMap<>();
+        Map<String, Map<String, List<Integer>>> winYearsByStudio = new HashMap<>();
+        for (Movie movie : movies) {
+            if (isWinner(movie)) {
+                List<String> studios = Names.split(movie.getStudios());
+                for (String producer : Names.split(movie.getProducers())) {
+                    winYearsByProducer.computeIfAbsent(producer, k -> new ArrayList<>()).add(movie.getYear());
+                    for (String studio : studios) {
+                        winYearsByStudio.computeIfAbsent(studio, k -> new HashMap<>())
+                                .computeIfAbsent(producer, k -> new ArrayList<>()).add(movie.getYear());
+                    }
+                }
+            }
+        }
+        rebuild(winYearsByProducer, winYearsByStudio);
+    }
+
+    /**
+     * Descarta o conteúdo atual e reconstrói o índice a partir dos anos de vitória de cada
+     * produtor, já separados (por exemplo, lidos das tabelas normalizadas). As consultas por
+     * estúdio ficam vazias até a próxima reconstrução completa.
+     */
+    public void rebuild(Map<String, ? extends Collection<Integer>> winYearsByProducer) {
+        rebuild(winYearsByProducer, Collections.emptyMap());
+    }
+
+    /**
+     * Igual a {@link #rebuild(Map)}, incluindo os anos de vitória de cada produtor por estúdio.
+     */
+    public void rebuild(Map<String, ? extends Collection<Integer>> winYearsByProducer,
+                        Map<String, ? extends Map<String, ? extends Collection<Integer>>> winYearsByStudio) {
+        install(build(winYearsByProducer, winYearsByStudio));
+    }
+
+    /**
+     * Monta o conteúdo de {@link #rebuild(Map, Map)} sem adquirir o lock: consultas e alterações
+     * seguem sobre o conteúdo atual até {@link #install}.
+     */
+    public Contents build(Map<String, ? extends Collection<Integer>> winYearsByProducer,
+                          Map<String, ? extends Map<String, ? extends Collection<Integer>>> winYearsByStudio) {
+        IntervalSet builtAll = new IntervalSet();
+        builtAll.load(winYearsByProducer);
+        Map<String, IntervalSet> builtByStudio = new HashMap<>();
+        winYearsByStudio.forEach((studio, winYears) -> {
+            IntervalSet intervals = new IntervalSet();
+            intervals.load(winYears);
+            builtByStudio.put(studio, intervals);
+        });
+        return new Contents(builtAll, builtByStudio);
+    }
+
+    /**
+     * Descarta o conteúdo atual e passa a usar o montado por {@link #build}.
+     */
+    public void install(Contents contents) {
+        lock.lock();
+        try {
+            all = contents.all;
+            byStudio = contents.byStudio;
+            response = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Aplica uma alteração: os filmes em {@code removed} deixam de contar e os filmes em
+     * {@code added} passam a contar. Cada vitória altera no máximo três intervalos do seu produtor.
+     */
+    public void apply(Collection<Movie> removed, Collection<Movie> added) {
+        lock.lock();
+        try {
+            for (Movie movie : removed) {
+                if (isWinner(movie)) {
+                    List<String> studios = Names.split(movie.getStudios());
+                    for (String producer : Names.split(movie.getProducers())) {
+                        all.removeWin(producer, movie.getYear());
+                        for (String studio : studios) {
+                            IntervalSet intervals = byStudio.get(studio);
+                            if (intervals != null && intervals.removeWin(producer, movie.getYear()) && intervals.isEmpty()) {
+                                byStudio.remove(studio);
+                            }
+                        }
+                    }
+                }
+            }
+            for (Movie movie : added) {
+                if (isWinner(movie)) {
+                    List<String> studios = Names.split(movie.getStudios());
+                    for (String producer : Names.split(movie.getProducers())) {
+                        all.addWin(producer, movie.getYear());
+                        for (String studio : studios) {
+                            byStudio.computeIfAbsent(studio, k -> new IntervalSet()).addWin(producer, movie.getYear());
+                        }
+                    }
+                }
+            }
+            if (all.extremesChanged) {
+                all.extremesChanged = false;
+                response = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        treeBuilder.shutdownNow();
+    }
+
+    /**
+     * Os primeiros {@code limit} intervalos de {@code ordered}; com {@code limit} igual a zero,
+     * todos os empatados com o primeiro.
+     */
+    private static List<ProducerInterval> select(Iterator<ProducerInterval> ordered, int limit) {
+        List<ProducerInterval> result = new ArrayList<>();
+        while (ordered.hasNext()) {
+            ProducerInterval interval = ordered.next();
+            if (limit > 0 ? result.size() == limit
+                    : !result.isEmpty() && result.get(0).getInterval() != interval.getInterval()) {
+                break;
+            }
+            result.add(interval);
+        }
+        return result;
+    }
+
+    private static List<ProducerInterval> sortedCopy(Collection<ProducerInterval> intervals) {
+        List<ProducerInterval> copy = new ArrayList<>(intervals);
+        copy.sort(RESPONSE_ORDER);
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static ProducerInterval intervalOf(String producer, int previousWin, int followingWin) {
+        return new ProducerInterval(producer, followingWin - previousWin, previousWin, followingWin);
+    }
+
+    private static boolean isWinner(Movie movie) {
+        return Boolean.TRUE.equals(movie.getWinner()) && movie.getYear() != null;
+    }
+
+    /**
+     * Retira uma ocorrência de {@code interval} da contagem.
+     *
+     * @return {@code false} se não havia nenhuma.
+     */
+    private static boolean decrement(Map<ProducerInterval, Integer> counts, ProducerInterval interval) {
+        Integer count = counts.get(interval);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            counts.remove(interval);
+        } else {
+            counts.put(interval, count - 1);
+        }
+        return true;
+    }
+
+    private static AwardIntervalResponse emptyResponse() {
+        return new AwardIntervalResponse(Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Anos de vitória por produtor e os intervalos resultantes, para todo o catálogo ou para
+     * um estúdio. Depois de instalado, só é acessado com {@link #lock} adquirido.
+     * <p>
+     * A árvore de consulta reflete o conteúdo de quando foi montada; {@link #added} e {@link #removed}
+     * guardam o que mudou desde então, e {@link #view} as expõe às consultas. Passado o limite de {@link #maxDelta()}, uma árvore nova é
+     * montada em segundo plano a partir de uma cópia dos intervalos, e as alterações que chegam
+     * enquanto isso ficam em {@link #pending} para serem reaplicadas sobre ela.
+     */
+    private final class IntervalSet {
+        private final Map<String, List<Integer>> winYears = new HashMap<>();
+        /**
+         * Duração → intervalos com essa duração e quantas vezes cada um ocorre (um produtor com
+         * três vitórias no mesmo ano tem duas vezes o mesmo intervalo de duração zero).
+         */
+        private final TreeMap<Integer, Map<ProducerInterval, Integer>> intervalsByLength = new TreeMap<>();
+        /** Indica que o menor ou o maior intervalo pode ter mudado desde a última verificação. */
+        private boolean extremesChanged;
+        private YearIntervalTree tree = YearIntervalTree.of(Collections.emptyList());
+        /** Intervalos incluídos, agrupados pelo ano da vitória anterior, e quantas vezes cada um. */
+        private final TreeMap<Integer, Map<ProducerInterval, Integer>> added = new TreeMap<>();
+        private final Map<ProducerInterval, Integer> removed = new HashMap<>();
+        private int deltaSize;
+        /** Cópia compartilhada pelas consultas; {@code null} quando a árvore ou as diferenças mudaram. */
+        private TreeView view;
+        /** Alterações feitas durante a montagem de uma árvore nova; {@code null} se nenhuma estiver em andamento. */
+        private List<PendingChange> pending;
+
+        /**
+         * Preenche um conjunto recém-criado. Uma árvore em montagem para um conjunto já descartado
+         * por {@link #install} é trocada nele mesmo, sem efeito sobre o conteúdo atual.
+         */
+        void load(Map<String, ? extends Collection<Integer>> winYearsByProducer) {
+            winYearsByProducer.forEach((producer, years) -> {
+                List<Integer> sortedYears = new ArrayList<>(years);
+                Collections.sort(sortedYears);
+                winYears.put(producer, sortedYears);
+                for (int i = 0; i < sortedYears.size() - 1; i++) {
+                    ProducerInterval interval = intervalOf(producer, sortedYears.get(i), sortedYears.get(i + 1));
+                    intervalsByLength.computeIfAbsent(interval.getInterval(), k -> new LinkedHashMap<>())
+                            .merge(interval, 1, Integer::sum);
+                }
+            });
+            tree = YearIntervalTree.of(currentIntervals());
+            extremesChanged = true;
+        }
+
+        boolean isEmpty() {
+            return winYears.isEmpty();
+        }
+
+        /**
+         * A árvore atual e uma cópia imutável das diferenças, para consulta fora do lock. A cópia
+         * é feita uma vez por alteração e reaproveitada pelas consultas seguintes.
+         */
+        TreeView view() {
+            if (view == null) {
+                TreeMap<Integer, List<ProducerInterval>> addedByYear = new TreeMap<>();
+                added.forEach((previousWin, sameYear) -> {
+                    List<ProducerInterval> copies = new ArrayList<>();
+                    sameYear.forEach((interval, count) -> {
+                        for (int i = 0; i < count; i++) {
+                            copies.add(interval);
+                        }
+                    });
+                    addedByYear.put(previousWin, Collections.unmodifiableList(copies));
+                });
+                view = new TreeView(tree, Collections.unmodifiableNavigableMap(addedByYear), Map.copyOf(removed));
+            }
+            return view;
+        }
+
+        /**
+         * Insere o ano na lista ordenada do produtor: o intervalo entre os vizinhos, se houver,
+         * dá lugar aos dois intervalos que passam pelo novo ano.
+         */
+        void addWin(String producer, int year) {
+            List<Integer> years = winYears.computeIfAbsent(producer, k -> new ArrayList<>());
+            int position = Collections.binarySearch(years, year);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            Integer previous = position > 0 ? years.get(position - 1) : null;
+            Integer following = position < years.size() ? years.get(position) : null;
+            if (previous != null && following != null) {
+                removeInterval(producer, previous, following);
+            }
+            if (previous != null) {
+                addInterval(producer, previous, year);
+            }
+            if (following != null) {
+                addInterval(producer, year, following);
+            }
+            years.add(position, year);
+        }
+
+        /**
+         * Retira o ano da lista do produtor: os dois intervalos que passam por ele dão lugar ao
+         * intervalo entre os vizinhos.
+         */
+        boolean removeWin(String producer, int year) {
+            List<Integer> years = winYears.get(producer);
+            if (years == null) {
+                return false;
+            }
+            int position = Collections.binarySearch(years, year);
+            if (position < 0) {
+                return false;
+            }
+            Integer previous = position > 0 ? years.get(position - 1) : null;
+            Integer following = position < years.size() - 1 ? years.get(position + 1) : null;
+            if (previous != null) {
+                removeInterval(producer, previous, year);
+            }
+            if (following != null) {
+                removeInterval(producer, year, following);
+            }
+            if (previous != null && following != null) {
+                addInterval(producer, previous, following);
+            }
+            years.remove(position);
+            if (years.isEmpty()) {
+                winYears.remove(producer);
+            }
+            return true;
+        }
+
+        private void addInterval(String producer, int previousWin, int followingWin) {
+            ProducerInterval interval = intervalOf(producer, previousWin, followingWin);
+            int length = interval.getInterval();
+            if (intervalsByLength.isEmpty() || length <= intervalsByLength.firstKey() || length >= intervalsByLength.lastKey()) {
+                extremesChanged = true;
+            }
+            intervalsByLength.computeIfAbsent(length, k -> new LinkedHashMap<>()).merge(interval, 1, Integer::sum);
+            recordChange(interval, true);
+        }
+
+        private void removeInterval(String producer, int previousWin, int followingWin) {
+            ProducerInterval interval = intervalOf(producer, previousWin, followingWin);
+            int length = interval.getInterval();
+            Map<ProducerInterval, Integer> sameLength = intervalsByLength.get(length);
+            if (length == intervalsByLength.firstKey() || length == intervalsByLength.lastKey()) {
+                extremesChanged = true;
+            }
+            if (sameLength.merge(interval, -1, Integer::sum) == 0) {
+                sameLength.remove(interval);
+                if (sameLength.isEmpty()) {
+                    intervalsByLength.remove(length);
+                }
+            }
+            recordChange(interval, false);
+        }
+
+        /**
+         * Registra a alteração nas diferenças em relação à árvore: incluir um intervalo que havia
+         * sido removido (ou o contrário) apenas cancela a diferença anterior.
+         */
+        private void recordChange(ProducerInterval interval, boolean isAddition) {
+            if (pending != null) {
+                pending.add(new PendingChange(interval, isAddition));
+            }
+            applyToDelta(interval, isAddition);
+            if (pending == null && deltaSize > maxDelta()) {
+                startRebuild();
+            }
+        }
+
+        private void applyToDelta(ProducerInterval interval, boolean isAddition) {
+            view = null;
+            if (isAddition ? decrement(removed, interval) : decrementAdded(interval)) {
+                deltaSize--;
+            } else if (isAddition) {
+                added.computeIfAbsent(interval.getPreviousWin(), k -> new HashMap<>()).merge(interval, 1, Integer::sum);
+                deltaSize++;
+            } else {
+                removed.merge(interval, 1, Integer::sum);
+                deltaSize++;
+            }
+        }
+
+        private boolean decrementAdded(ProducerInterval interval) {
+            Map<ProducerInterval, Integer> sameYear = added.get(interval.getPreviousWin());
+            if (sameYear == null || !decrement(sameYear, interval)) {
+                return false;
+            }
+            if (sameYear.isEmpty()) {
+                added.remove(interval.getPreviousWin());
+            }
+            return true;
+        }
+
+        /**
+         * Diferenças aceitas antes de montar uma árvore nova: a raiz quadrada do tamanho equilibra
+         * o custo das consultas (que ordenam as diferenças da faixa) com o da cópia feita a cada montagem.
+         */
+        private int maxDelta() {
+            return Math.max(MIN_DELTA, (int) Math.sqrt(tree.size()));
+        }
+
+        private void startRebuild() {
+            List<ProducerInterval> snapshot = currentIntervals();
+            pending = new ArrayList<>();
+            treeBuilder.execute(() -> {
+                YearIntervalTree rebuilt = YearIntervalTree.of(snapshot);
+                lock.lock();
+                try {
+                    swap(rebuilt);
+                } finally {
+                    lock.unlock();
+                }
+            });
+        }
+
+        private void swap(YearIntervalTree rebuilt) {
+            List<PendingChange> changes = pending;
+            tree = rebuilt;
+            view = null;
+            pending = null;
+            added.clear();
+            removed.clear();
+            deltaSize = 0;
+            changes.forEach(change -> applyToDelta(change.interval(), change.isAddition()));
+            if (deltaSize > maxDelta()) {
+                startRebuild();
+            }
+        }
+
+        private List<ProducerInterval> currentIntervals() {
+            List<ProducerInterval> intervals = new ArrayList<>();
+            intervalsByLength.values().forEach(sameLength -> sameLength.forEach((interval, count) -> {
+                for (int i = 0; i < count; i++) {
+                    intervals.add(interval);
+                }
+            }));
+            return intervals;
+        }
+    }
+
+    private record PendingChange(ProducerInterval interval, boolean isAddition) {
+    }
+
+    /**
+     * Conteúdo montado por {@link #build}, ainda invisível às consultas.
+     */
+    public static final class Contents {
+        private final IntervalSet all;
+        private final Map<String, IntervalSet> byStudio;
+
+        private Contents(IntervalSet all, Map<String, IntervalSet> byStudio) {
+            this.all = all;
+            this.byStudio = byStudio;
+        }
+    }
+
+    /**
+     * Árvore e diferenças imutáveis, compartilhadas pelas consultas até a próxima alteração.
+     * Percorre a árvore em ordem, pulando os intervalos removidos, e a intercala com os incluídos
+     * depois da montagem; destes, só os que começam na faixa são lidos e ordenados.
+     */
+    private record TreeView(YearIntervalTree tree, NavigableMap<Integer, List<ProducerInterval>> addedByYear,
+                            Map<ProducerInterval, Integer> removed) {
+
+        Iterator<ProducerInterval> iterator(int from, int to, Comparator<ProducerInterval> order) {
+            List<ProducerInterval> addedInRange = new ArrayList<>();
+            if (from <= to) {
+                for (List<ProducerInterval> sameYear : addedByYear.subMap(from, true, to, true).values()) {
+                    for (ProducerInterval interval : sameYear) {
+                        if (interval.getFollowingWin() <= to) {
+                            addedInRange.add(interval);
+                        }
+                    }
+                }
+            }
+            addedInRange.sort(order);
+            return new MergingIterator(tree.iterator(from, to, order), removed, addedInRange, order);
+        }
+    }
+
+    private static final class MergingIterator implements Iterator<ProducerInterval> {
+        private final Iterator<ProducerInterval> fromTree;
+        private final Map<ProducerInterval, Integer> removed;
+        /** Quantas ocorrências de cada intervalo removido já foram puladas nesta consulta. */
+        private final Map<ProducerInterval, Integer> skipped = new HashMap<>();
+        private final List<ProducerInterval> added;
+        private final Comparator<ProducerInterval> order;
+        private ProducerInterval nextFromTree;
+        private int position;
+
+        MergingIterator(Iterator<ProducerInterval> fromTree, Map<ProducerInterval, Integer> removed,
+                        List<ProducerInterval> added, Comparator<ProducerInterval> order) {
+            this.fromTree = fromTree;
+            this.removed = removed;
+            this.added = added;
+            this.order = order;
+            this.nextFromTree = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextFromTree != null || position < added.size();
+        }
+
+        @Override
+        public ProducerInterval next() {
+            if (nextFromTree != null && (position == added.size() || order.compare(nextFromTree, added.get(position)) <= 0)) {
+                ProducerInterval current = nextFromTree;
+                nextFromTree = advance();
+                return current;
+            }
+            if (position == added.size()) {
+                throw new NoSuchElementException();
+            }
+            return added.get(position++);
+        }
+
+        private ProducerInterval advance() {
+            while (fromTree.hasNext()) {
+                ProducerInterval interval = fromTree.next();
+                Integer removals = removed.get(interval);
+                if (removals == null || skipped.merge(interval, 1, Integer::sum) > removals) {
+                    return interval;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.awards.index;
+
+import com.awards.dto.ProducerInterval;
+
+import java.util.*;
+
+/**
+ * Árvore de segmentos imutável sobre intervalos ordenados pelo ano da vitória anterior. Cada nó
+ * guarda os intervalos da sua faixa de anos ordenados pelo ano da vitória seguinte e, sobre eles,
+ * uma árvore de mínimos para cada ordem de duração. Uma consulta por faixa de anos visita
+ * O(log n) nós, localiza em cada um, por busca binária, o prefixo que termina até o fim da faixa
+ * e percorre esses prefixos em ordem de duração sem descartar nenhum intervalo: a preparação
+ * custa O(log² n) e cada elemento devolvido, O(log n). Ocupa O(n log n) de memória e, como é
+ * imutável, pode ser montada fora de qualquer lock e consultada por várias threads.
+ */
+final class YearIntervalTree {
+
+    static final Comparator<ProducerInterval> SHORTEST_FIRST = Comparator
+            .comparingInt(ProducerInterval::getInterval)
+            .thenComparing(ProducerInterval::getProducer)
+            .thenComparingInt(ProducerInterval::getPreviousWin);
+    static final Comparator<ProducerInterval> LONGEST_FIRST = Comparator
+            .comparingInt(ProducerInterval::getInterval).reversed()
+            .thenComparing(ProducerInterval::getProducer)
+            .thenComparingInt(ProducerInterval::getPreviousWin);
+    private static final Comparator<ProducerInterval> BY_FOLLOWING_WIN =
+            Comparator.comparingInt(ProducerInterval::getFollowingWin);
+
+    private static final ProducerInterval[] EMPTY = new ProducerInterval[0];
+
+    private final int size;
+    private final int[] previousWins;
+    /** Intervalos de cada nó, em ordem de vitória seguinte. */
+    private final ProducerInterval[][] byFollowingWin;
+    /** Árvores de mínimos de cada nó: posição em {@link #byFollowingWin} do menor de cada faixa. */
+    private final int[][] shortestFirst;
+    private final int[][] longestFirst;
+
+    private YearIntervalTree(ProducerInterval[] byPreviousWin) {
+        size = byPreviousWin.length;
+        previousWins = new int[size];
+        byFollowingWin = new ProducerInterval[2 * size][];
+        shortestFirst = new int[2 * size][];
+        longestFirst = new int[2 * size][];
+        for (int i = 0; i < size; i++) {
+            previousWins[i] = byPreviousWin[i].getPreviousWin();
+            byFollowingWin[size + i] = new ProducerInterval[]{byPreviousWin[i]};
+        }
+        for (int node = size - 1; node > 0; node--) {
+            byFollowingWin[node] = merge(byFollowingWin[2 * node], byFollowingWin[2 * node + 1], BY_FOLLOWING_WIN);
+        }
+        for (int node = 1; node < 2 * size; node++) {
+            shortestFirst[node] = minimumTree(byFollowingWin[node], SHORTEST_FIRST);
+            longestFirst[node] = minimumTree(byFollowingWin[node], LONGEST_FIRST);
+        }
+    }
+
+    static YearIntervalTree of(Collection<ProducerInterval> intervals) {
+        ProducerInterval[] byPreviousWin = intervals.toArray(EMPTY);
+        Arrays.sort(byPreviousWin, Comparator.comparingInt(ProducerInterval::getPreviousWin));
+        return new YearIntervalTree(byPreviousWin);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Percorre, na ordem de {@code order} ({@link #SHORTEST_FIRST} ou {@link #LONGEST_FIRST}), os
+     * intervalos contidos em {@code [from, to]}. Criar o iterador custa O(log² n) e cada elemento, O(log n).
+     */
+    Iterator<ProducerInterval> iterator(int from, int to, Comparator<ProducerInterval> order) {
+        return new RangeIterator(from, to, order == SHORTEST_FIRST ? shortestFirst : longestFirst, order);
+    }
+
+    private int lowerBound(int year) {
+        int position = Arrays.binarySearch(previousWins, year);
+        if (position < 0) {
+            return -position - 1;
+        }
+        while (position > 0 && previousWins[position - 1] == year) {
+            position--;
+        }
+        return position;
+    }
+
+    /**
+     * Quantidade de intervalos, no início de {@code intervals}, que terminam até {@code year}.
+     */
+    private static int countEndingBy(ProducerInterval[] intervals, int year) {
+        int low = 0;
+        int high = intervals.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (intervals[middle].getFollowingWin() <= year) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Seleciona os nós que cobrem os intervalos iniciados em {@code [from, to]} e, em cada um, o
+     * prefixo dos que terminam até {@code to}. Um heap guarda o menor intervalo de cada trecho
+     * ainda não percorrido; ao sair um intervalo, o trecho é dividido em dois nas suas laterais.
+     */
+    private final class RangeIterator implements Iterator<ProducerInterval> {
+        private final int[][] minimumTrees;
+        private final Comparator<ProducerInterval> order;
+        private final PriorityQueue<Candidate> candidates;
+
+        RangeIterator(int from, int to, int[][] minimumTrees, Comparator<ProducerInterval> order) {
+            this.minimumTrees = minimumTrees;
+            this.order = order;
+            this.candidates = new PriorityQueue<>((a, b) -> order.compare(a.interval(), b.interval()));
+            int low = lowerBound(from);
+            int high = lowerBound(to == Integer.MAX_VALUE ? to : to + 1);
+            for (low += size, high += size; low < high; low >>= 1, high >>= 1) {
+                if ((low & 1) == 1) {
+                    addRange(low, 0, countEndingBy(byFollowingWin[low], to));
+                    low++;
+                }
+                if ((high & 1) == 1) {
+                    --high;
+                    addRange(high, 0, countEndingBy(byFollowingWin[high], to));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !candidates.isEmpty();
+        }
+
+        @Override
+        public ProducerInterval next() {
+            Candidate candidate = candidates.poll();
+            if (candidate == null) {
+                throw new NoSuchElementException();
+            }
+            addRange(candidate.node(), candidate.from(), candidate.position());
+            addRange(candidate.node(), candidate.position() + 1, candidate.to());
+            return candidate.interval();
+        }
+
+        private void addRange(int node, int from, int to) {
+            if (from < to) {
+                int position = minimum(byFollowingWin[node], minimumTrees[node], order, from, to);
+                candidates.add(new Candidate(node, from, to, position, byFollowingWin[node][position]));
+            }
+        }
+    }
+
+    /**
+     * Trecho {@code [from, to)} das posições de um nó e o seu menor intervalo, em {@code position}.
+     */
+    private record Candidate(int node, int from, int to, int position, ProducerInterval interval) {
+    }
+
+    /**
+     * Árvore de segmentos, no mesmo formato da árvore principal, com a posição do menor
+     * intervalo de cada faixa de {@code intervals} segundo {@code order}.
+     */
+    private static int[] minimumTree(ProducerInterval[] intervals, Comparator<ProducerInterval> order) {
+        int length = intervals.length;
+        int[] tree = new int[2 * length];
+        for (int i = 0; i < length; i++) {
+            tree[length + i] = i;
+        }
+        for (int node = length - 1; node > 0; node--) {
+            tree[node] = first(intervals, tree[2 * node], tree[2 * node + 1], order);
+        }
+        return tree;
+    }
+
+    /**
+     * Posição do menor intervalo em {@code [from, to)}, em O(log n).
+     */
+    private static int minimum(ProducerInterval[] intervals, int[] tree, Comparator<ProducerInterval> order, int from, int to) {
+        int length = intervals.length;
+        int best = -1;
+        for (from += length, to += length; from < to; from >>= 1, to >>= 1) {
+            if ((from & 1) == 1) {
+                best = first(intervals, best, tree[from++], order);
+            }
+            if ((to & 1) == 1) {
+                best = first(intervals, best, tree[--to], order);
+            }
+        }
+        return best;
+    }
+
+    private static int first(ProducerInterval[] intervals, int a, int b, Comparator<ProducerInterval> order) {
+        if (a < 0) {
+            return b;
+        }
+        return order.compare(intervals[a], intervals[b]) <= 0 ? a : b;
+    }
+
+    private static ProducerInterval[] merge(ProducerInterval[] left, ProducerInterval[] right, Comparator<ProducerInterval> order) {
+        ProducerInterval[] merged = new ProducerInterval[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            merged[k++] = order.compare(left[i], right[j]) <= 0 ? left[i++] : right[j++];
+        }
+        while (i < left.length) {
+            merged[k++] = left[i++];
+        }
+        while (j < right.length) {
+            merged[k++] = right[j++];
+        }
+        return merged;
+    }
+}
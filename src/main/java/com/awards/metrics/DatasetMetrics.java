@@ -0,0 +1,57 @@
+package com.awards.metrics;
+
+import com.awards.entity.Movie;
+import com.awards.event.AbstractMovieChangeListener;
+import com.awards.event.MovieChangeGate;
+import com.awards.event.MoviesChangedEvent;
+import com.awards.repository.MovieRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gauges com o tamanho do catálogo e a quantidade de vencedores. Os valores são contados
+ * no banco na inicialização e em recargas completas; nas demais alterações são ajustados
+ * a partir do próprio {@link MoviesChangedEvent}, sem nova consulta.
+ */
+@Component
+public class DatasetMetrics extends AbstractMovieChangeListener {
+
+    private final MovieRepository movieRepository;
+    private final AtomicLong movies = new AtomicLong();
+    private final AtomicLong winners = new AtomicLong();
+
+    public DatasetMetrics(MovieRepository movieRepository, MeterRegistry meterRegistry, MovieChangeGate movieChangeGate) {
+        super(movieChangeGate);
+        this.movieRepository = movieRepository;
+        Gauge.builder("awards.dataset.movies", movies, AtomicLong::get)
+                .description("Filmes cadastrados")
+                .register(meterRegistry);
+        Gauge.builder("awards.dataset.winners", winners, AtomicLong::get)
+                .description("Filmes vencedores cadastrados")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Runnable loadFromDatabase() {
+        long movieCount = movieRepository.count();
+        long winnerCount = movieRepository.countByWinnerTrue();
+        return () -> {
+            movies.set(movieCount);
+            winners.set(winnerCount);
+        };
+    }
+
+    @Override
+    protected void applyChange(MoviesChangedEvent event) {
+        movies.addAndGet(event.getAdded().size() - event.getRemoved().size());
+        winners.addAndGet(countWinners(event.getAdded()) - countWinners(event.getRemoved()));
+    }
+
+    private static long countWinners(Collection<Movie> movies) {
+        return movies.stream().filter(movie -> Boolean.TRUE.equals(movie.getWinner())).count();
+    }
+}
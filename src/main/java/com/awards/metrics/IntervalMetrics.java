@@ -0,0 +1,28 @@
+package com.awards.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Nomes e tags comuns dos timers do cálculo de intervalos, usados tanto pelos motores
+ * que calculam a cada chamada quanto pela reconstrução do índice em memória.
+ */
+public final class IntervalMetrics {
+
+    public static final String PHASE_TIMER = "awards.intervals.phase";
+
+    private IntervalMetrics() {
+    }
+
+    /**
+     * @param engine Motor em que a fase roda: {@code index}, {@code database} ou {@code parallel}.
+     * @param phase  {@code query}, {@code group} ou {@code scan}.
+     */
+    public static Timer phaseTimer(MeterRegistry meterRegistry, String engine, String phase) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Tempo de cada fase do cálculo dos intervalos entre prêmios")
+                .tag("engine", engine)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+}
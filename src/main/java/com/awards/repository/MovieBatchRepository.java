@@ -0,0 +1,374 @@
+package com.awards.repository;
+
+import com.awards.entity.Movie;
+import com.awards.util.Names;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Gravação em lote de filmes via JDBC. Cada chamada envia todas as linhas em um único
+ * {@code executeBatch}, participando da transação corrente, e preenche os IDs gerados
+ * nos próprios objetos {@link Movie}. As tabelas normalizadas de produtores e estúdios
+ * e suas tabelas de junção são preenchidas no mesmo lote.
+ * <p>
+ * {@link #mergeAll(List)} faz o mesmo usando a chave natural (ano + título): um único
+ * {@code SELECT} descobre o que já existe e um {@code MERGE} em lote grava apenas as
+ * linhas novas ou alteradas. Todas as gravações preenchem {@code fingerprint}, que
+ * {@link #findAllFingerprints()} devolve para a importação em modo delta.
+ */
+@Repository
+public class MovieBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO movie (release_year, title, studios, producers, winner, fingerprint) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String MOVIE_COLUMNS = "id, release_year, title, studios, producers, winner, fingerprint";
+    private static final String SELECT_ALL_SQL = "SELECT " + MOVIE_COLUMNS + " FROM movie ORDER BY id";
+    private static final String SELECT_BY_KEY_SQL = "SELECT " + MOVIE_COLUMNS + " FROM movie WHERE (release_year, title) IN (:keys)";
+    private static final String SELECT_BY_ID_SQL = "SELECT " + MOVIE_COLUMNS + " FROM movie WHERE id IN (:ids)";
+    private static final String UPDATE_SQL =
+            "UPDATE movie SET release_year = ?, title = ?, studios = ?, producers = ?, winner = ?, fingerprint = ? WHERE id = ?";
+    private static final String SELECT_FINGERPRINTS_SQL = "SELECT id, release_year, title, fingerprint FROM movie";
+    private static final String MERGE_SQL =
+            "MERGE INTO movie m USING (SELECT CAST(? AS INTEGER) AS release_year, CAST(? AS VARCHAR(255)) AS title, "
+                    + "CAST(? AS VARCHAR(255)) AS studios, CAST(? AS CLOB) AS producers, CAST(? AS BOOLEAN) AS winner, "
+                    + "CAST(? AS BIGINT) AS fingerprint) s "
+                    + "ON m.release_year = s.release_year AND m.title = s.title "
+                    + "WHEN MATCHED THEN UPDATE SET studios = s.studios, producers = s.producers, winner = s.winner, "
+                    + "fingerprint = s.fingerprint "
+                    + "WHEN NOT MATCHED THEN INSERT (release_year, title, studios, producers, winner, fingerprint) "
+                    + "VALUES (s.release_year, s.title, s.studios, s.producers, s.winner, s.fingerprint)";
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private static final NameTable PRODUCERS = new NameTable("producer", "movie_producer", "producer_id", Movie::getProducers);
+    private static final NameTable STUDIOS = new NameTable("studio", "movie_studio", "studio_id", Movie::getStudios);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public MovieBatchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public void insertAll(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return;
+        }
+        movies.forEach(movie -> movie.setFingerprint(movie.computeFingerprint()));
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Movie movie = movies.get(i);
+                        ps.setInt(1, movie.getYear());
+                        ps.setString(2, movie.getTitle());
+                        ps.setString(3, movie.getStudios());
+                        ps.setString(4, movie.getProducers());
+                        ps.setBoolean(5, Boolean.TRUE.equals(movie.getWinner()));
+                        ps.setLong(6, movie.getFingerprint());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return movies.size();
+                    }
+                },
+                keyHolder);
+
+        List<Long> ids = generatedIds(keyHolder);
+        for (int i = 0; i < ids.size(); i++) {
+            movies.get(i).setId(ids.get(i));
+        }
+        insertLinks(movies, PRODUCERS);
+        insertLinks(movies, STUDIOS);
+    }
+
+    /**
+     * Insere ou atualiza os filmes pela chave natural (ano + título). Filmes idênticos aos
+     * já gravados não são enviados ao banco; apenas o {@code fingerprint} é preenchido se
+     * estiver desatualizado. Os filmes informados recebem o ID e o {@code fingerprint} da
+     * linha correspondente e as tabelas de junção das linhas atualizadas são regravadas.
+     *
+     * @param movies Filmes com chaves distintas entre si.
+     * @return Os filmes inseridos, os atualizados (com o estado anterior) e a quantidade sem alteração.
+     */
+    public MergeResult mergeAll(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return new MergeResult(List.of(), List.of(), List.of(), 0);
+        }
+        Map<MovieKey, Movie> existing = findByKeys(movies);
+        List<Movie> inserted = new ArrayList<>();
+        List<Movie> updated = new ArrayList<>();
+        List<Movie> previous = new ArrayList<>();
+        List<Movie> staleFingerprints = new ArrayList<>();
+        for (Movie movie : movies) {
+            movie.setFingerprint(movie.computeFingerprint());
+            Movie stored = existing.get(MovieKey.of(movie));
+            if (stored == null) {
+                inserted.add(movie);
+            } else {
+                movie.setId(stored.getId());
+                if (!sameContent(stored, movie)) {
+                    updated.add(movie);
+                    previous.add(stored);
+                } else if (!movie.getFingerprint().equals(stored.getFingerprint())) {
+                    staleFingerprints.add(movie);
+                }
+            }
+        }
+
+        List<Movie> changed = new ArrayList<>(inserted);
+        changed.addAll(updated);
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(MERGE_SQL, changed, changed.size(), (ps, movie) -> {
+                ps.setInt(1, movie.getYear());
+                ps.setString(2, movie.getTitle());
+                ps.setString(3, movie.getStudios());
+                ps.setString(4, movie.getProducers());
+                ps.setBoolean(5, Boolean.TRUE.equals(movie.getWinner()));
+                ps.setLong(6, movie.getFingerprint());
+            });
+        }
+        if (!staleFingerprints.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE movie SET fingerprint = ? WHERE id = ?", staleFingerprints, staleFingerprints.size(),
+                    (ps, movie) -> {
+                        ps.setLong(1, movie.getFingerprint());
+                        ps.setLong(2, movie.getId());
+                    });
+        }
+        if (!inserted.isEmpty()) {
+            Map<MovieKey, Movie> created = findByKeys(inserted);
+            inserted.forEach(movie -> movie.setId(created.get(MovieKey.of(movie)).getId()));
+            insertLinks(inserted, PRODUCERS);
+            insertLinks(inserted, STUDIOS);
+        }
+        replaceLinks(updated, previous, PRODUCERS);
+        replaceLinks(updated, previous, STUDIOS);
+        return new MergeResult(inserted, updated, previous, movies.size() - inserted.size() - updated.size());
+    }
+
+    /**
+     * Grava o novo estado dos filmes informados, pelo ID, em um único lote de {@code UPDATE}.
+     * As linhas de junção são regravadas apenas nos filmes cujos produtores ou estúdios mudaram.
+     *
+     * @param previous O estado gravado de cada filme, na mesma ordem de {@code movies}.
+     */
+    public void updateAll(List<Movie> movies, List<Movie> previous) {
+        if (movies.isEmpty()) {
+            return;
+        }
+        movies.forEach(movie -> movie.setFingerprint(movie.computeFingerprint()));
+        jdbcTemplate.batchUpdate(UPDATE_SQL, movies, movies.size(), (ps, movie) -> {
+            ps.setInt(1, movie.getYear());
+            ps.setString(2, movie.getTitle());
+            ps.setString(3, movie.getStudios());
+            ps.setString(4, movie.getProducers());
+            ps.setBoolean(5, Boolean.TRUE.equals(movie.getWinner()));
+            ps.setLong(6, movie.getFingerprint());
+            ps.setLong(7, movie.getId());
+        });
+        replaceLinks(movies, previous, PRODUCERS);
+        replaceLinks(movies, previous, STUDIOS);
+    }
+
+    /**
+     * Lê os filmes com os IDs informados em uma única consulta. IDs inexistentes são ignorados.
+     */
+    public List<Movie> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.query(SELECT_BY_ID_SQL, Map.of("ids", ids), (rs, rowNum) -> readMovie(rs));
+    }
+
+    /**
+     * Lê, em uma única consulta, os filmes gravados com as mesmas chaves naturais dos informados.
+     */
+    public Map<MovieKey, Movie> findByKeys(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return Map.of();
+        }
+        List<Object[]> keys = movies.stream().map(movie -> new Object[]{movie.getYear(), movie.getTitle()}).toList();
+        Map<MovieKey, Movie> moviesByKey = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_BY_KEY_SQL, Map.of("keys", keys), rs -> {
+            Movie movie = readMovie(rs);
+            moviesByKey.put(MovieKey.of(movie), movie);
+        });
+        return moviesByKey;
+    }
+
+    /**
+     * Remove os filmes informados e suas linhas de junção com um {@code DELETE ... WHERE id IN}
+     * por tabela. IDs inexistentes são ignorados.
+     *
+     * @return O estado dos filmes removidos, lido antes da remoção.
+     */
+    public List<Movie> deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> params = Map.of("ids", ids);
+        List<Movie> deleted = findAllById(ids);
+        namedParameterJdbcTemplate.update("DELETE FROM " + PRODUCERS.joinTable() + " WHERE movie_id IN (:ids)", params);
+        namedParameterJdbcTemplate.update("DELETE FROM " + STUDIOS.joinTable() + " WHERE movie_id IN (:ids)", params);
+        namedParameterJdbcTemplate.update("DELETE FROM movie WHERE id IN (:ids)", params);
+        return deleted;
+    }
+
+    /**
+     * Lê a chave natural, o ID e o {@code fingerprint} de todos os filmes, sem as demais colunas.
+     * Filmes gravados antes da criação da coluna têm {@code fingerprint} nulo.
+     */
+    public Map<MovieKey, StoredFingerprint> findAllFingerprints() {
+        Map<MovieKey, StoredFingerprint> fingerprints = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_FINGERPRINTS_SQL);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            long fingerprint = resultSet.getLong(4);
+            fingerprints.put(new MovieKey(resultSet.getInt(2), resultSet.getString(3)),
+                    new StoredFingerprint(resultSet.getLong(1), resultSet.wasNull() ? null : fingerprint));
+        });
+        return fingerprints;
+    }
+
+    /**
+     * Percorre todos os filmes em ordem de ID lendo as colunas diretamente, sem entidades
+     * gerenciadas pelo JPA. Cada {@link Movie} entregue a {@code consumer} é um objeto novo.
+     */
+    public void scanAll(Consumer<Movie> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SQL);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, resultSet -> {
+            consumer.accept(readMovie(resultSet));
+        });
+    }
+
+    /**
+     * Grava as linhas das tabelas de junção dos filmes informados, criando os nomes que
+     * ainda não existem. Os IDs são resolvidos com uma única consulta por lote.
+     */
+    private void insertLinks(List<Movie> movies, NameTable table) {
+        Map<Long, Set<String>> namesByMovie = new LinkedHashMap<>();
+        Set<String> allNames = new HashSet<>();
+        for (Movie movie : movies) {
+            Set<String> names = new LinkedHashSet<>(Names.split(table.source().apply(movie)));
+            namesByMovie.put(movie.getId(), names);
+            allNames.addAll(names);
+        }
+        if (allNames.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> idsByName = resolveNameIds(table, allNames);
+        List<long[]> links = new ArrayList<>();
+        namesByMovie.forEach((movieId, names) -> names.forEach(name -> links.add(new long[]{movieId, idsByName.get(name)})));
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO " + table.joinTable() + " (movie_id, " + table.joinColumn() + ") VALUES (?, ?)",
+                links, links.size(),
+                (ps, link) -> {
+                    ps.setLong(1, link[0]);
+                    ps.setLong(2, link[1]);
+                });
+    }
+
+    /**
+     * Regrava as linhas de junção apenas dos filmes cuja lista de nomes mudou.
+     */
+    private void replaceLinks(List<Movie> updated, List<Movie> previous, NameTable table) {
+        List<Movie> changed = new ArrayList<>();
+        for (int i = 0; i < updated.size(); i++) {
+            if (!Objects.equals(table.source().apply(updated.get(i)), table.source().apply(previous.get(i)))) {
+                changed.add(updated.get(i));
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(
+                "DELETE FROM " + table.joinTable() + " WHERE movie_id IN (:ids)",
+                Map.of("ids", changed.stream().map(Movie::getId).toList()));
+        insertLinks(changed, table);
+    }
+
+    private static Movie readMovie(ResultSet resultSet) throws SQLException {
+        Movie movie = new Movie();
+        movie.setId(resultSet.getLong(1));
+        movie.setYear(resultSet.getInt(2));
+        movie.setTitle(resultSet.getString(3));
+        movie.setStudios(resultSet.getString(4));
+        movie.setProducers(resultSet.getString(5));
+        movie.setWinner(resultSet.getBoolean(6));
+        long fingerprint = resultSet.getLong(7);
+        movie.setFingerprint(resultSet.wasNull() ? null : fingerprint);
+        return movie;
+    }
+
+    private static boolean sameContent(Movie stored, Movie movie) {
+        return Objects.equals(stored.getStudios(), movie.getStudios())
+                && Objects.equals(stored.getProducers(), movie.getProducers())
+                && Boolean.TRUE.equals(stored.getWinner()) == Boolean.TRUE.equals(movie.getWinner());
+    }
+
+    private Map<String, Long> resolveNameIds(NameTable table, Set<String> names) {
+        Map<String, Long> idsByName = new HashMap<>();
+        findNameIds(table, names, idsByName);
+
+        List<String> missing = names.stream().filter(name -> !idsByName.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            // MERGE não falha se outra importação gravou o mesmo nome depois da consulta acima
+            jdbcTemplate.batchUpdate("MERGE INTO " + table.name() + " (name) KEY (name) VALUES (?)", missing, missing.size(),
+                    (ps, name) -> ps.setString(1, name));
+            findNameIds(table, missing, idsByName);
+        }
+        return idsByName;
+    }
+
+    private void findNameIds(NameTable table, Collection<String> names, Map<String, Long> idsByName) {
+        namedParameterJdbcTemplate.query(
+                "SELECT id, name FROM " + table.name() + " WHERE name IN (:names)",
+                Map.of("names", names),
+                rs -> {
+                    idsByName.put(rs.getString("name"), rs.getLong("id"));
+                });
+    }
+
+    private static List<Long> generatedIds(KeyHolder keyHolder) {
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    /**
+     * Resultado de {@link #mergeAll(List)}. {@code previous} traz, na mesma ordem de
+     * {@code updated}, o estado gravado antes da atualização.
+     */
+    public record MergeResult(List<Movie> inserted, List<Movie> updated, List<Movie> previous, int unchanged) {
+    }
+
+    /**
+     * ID e {@code fingerprint} gravados para uma chave natural.
+     */
+    public record StoredFingerprint(long id, Long fingerprint) {
+    }
+
+    private record NameTable(String name, String joinTable, String joinColumn, Function<Movie, String> source) {
+    }
+}
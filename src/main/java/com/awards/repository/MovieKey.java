@@ -0,0 +1,40 @@
+package com.awards.repository;
+
+import com.awards.entity.Movie;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Chave natural de um filme: ano e título, protegidos pela restrição {@code uk_movie_year_title}.
+ */
+public record MovieKey(int year, String title) {
+
+    public static final String CONSTRAINT_NAME = "uk_movie_year_title";
+
+    /** SQLState padrão de violação de unicidade. */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    public static MovieKey of(Movie movie) {
+        return new MovieKey(movie.getYear(), movie.getTitle());
+    }
+
+    /**
+     * Indica se a violação foi da chave natural, e não de outra restrição, como o tamanho de
+     * uma coluna ou um valor nulo. Só a primeira significa um filme repetido.
+     */
+    public static boolean isViolatedBy(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    if (UNIQUE_VIOLATION.equals(next.getSQLState()) && next.getMessage() != null
+                            && next.getMessage().toLowerCase(Locale.ROOT).contains(CONSTRAINT_NAME)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,14 +1,40 @@
 package com.awards.repository;
 
 import com.awards.entity.Movie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, Long> {
     List<Movie> findByWinnerTrueOrderByYearAsc();
 
+    long countByWinnerTrue();
+
+    /**
+     * Página de filmes com ID maior que {@code id}, sem consulta de contagem.
+     * {@code type} pode ser {@link Movie} ou uma projeção como {@link MovieSummary}.
+     */
+    <T> Slice<T> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable, Class<T> type);
+
+    /**
+     * Cursor no servidor sobre os filmes de um intervalo de anos, em ordem de ID. Deve ser
+     * consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select m from Movie m where (:winnersOnly = false or m.winner = true) and m.year between :fromYear and :toYear order by m.id")
+    Stream<Movie> streamByYearRange(boolean winnersOnly, int fromYear, int toYear);
 
 }
\ No newline at end of file
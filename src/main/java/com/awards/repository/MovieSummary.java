@@ -0,0 +1,14 @@
+package com.awards.repository;
+
+/**
+ * Projeção leve de {@link com.awards.entity.Movie}, sem as colunas de texto de estúdios e produtores.
+ */
+public interface MovieSummary {
+    Long getId();
+
+    Integer getYear();
+
+    String getTitle();
+
+    Boolean getWinner();
+}
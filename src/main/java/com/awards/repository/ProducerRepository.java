@@ -0,0 +1,72 @@
+package com.awards.repository;
+
+import com.awards.entity.Producer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProducerRepository extends JpaRepository<Producer, Long> {
+
+    Optional<Producer> findByName(String name);
+
+    List<Producer> findByNameIn(Collection<String> names);
+
+    /**
+     * Grava o produtor se o nome ainda não existir. Ao contrário de {@code save}, não viola
+     * {@code uk_producer_name} quando outra transação gravou o mesmo nome antes.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO producer (name) KEY (name) VALUES (:name)", nativeQuery = true)
+    void merge(String name);
+
+    /**
+     * Anos de vitória de um produtor, em ordem crescente.
+     */
+    @Query("select m.year from Movie m join m.producerEntities p where p.name = :name and m.winner = true order by m.year")
+    List<Integer> findWinYearsByName(String name);
+
+    /**
+     * Pares (produtor, ano) de todos os filmes vencedores.
+     */
+    @Query("select p.name, m.year from Movie m join m.producerEntities p where m.winner = true")
+    List<Object[]> findAllWinYears();
+
+    /**
+     * Triplas (estúdio, produtor, ano) de todos os filmes vencedores.
+     */
+    @Query("select s.name, p.name, m.year from Movie m join m.studioEntities s join m.producerEntities p where m.winner = true")
+    List<Object[]> findAllStudioWinYears();
+
+    /**
+     * Intervalos entre vitórias consecutivas que empatam no menor ou no maior valor, calculados
+     * inteiramente no banco com {@code LAG} sobre os anos de vitória de cada produtor.
+     * Cada linha contém produtor, intervalo, vitória anterior e vitória seguinte.
+     */
+    @Query(value = """
+            WITH intervals AS (
+                SELECT producer, following_win - previous_win AS interval_length, previous_win, following_win
+                FROM (
+                    SELECT p.name AS producer,
+                           LAG(m.release_year) OVER (PARTITION BY p.id ORDER BY m.release_year) AS previous_win,
+                           m.release_year AS following_win
+                    FROM movie m
+                    JOIN movie_producer mp ON mp.movie_id = m.id
+                    JOIN producer p ON p.id = mp.producer_id
+                    WHERE m.winner = TRUE
+                ) wins
+                WHERE previous_win IS NOT NULL
+            )
+            SELECT producer, interval_length, previous_win, following_win
+            FROM intervals
+            WHERE interval_length = (SELECT MIN(interval_length) FROM intervals)
+               OR interval_length = (SELECT MAX(interval_length) FROM intervals)
+            ORDER BY interval_length, producer, previous_win
+            """, nativeQuery = true)
+    List<Object[]> findMinAndMaxWinIntervals();
+}
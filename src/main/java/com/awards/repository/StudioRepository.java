@@ -0,0 +1,23 @@
+package com.awards.repository;
+
+import com.awards.entity.Studio;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudioRepository extends JpaRepository<Studio, Long> {
+
+    List<Studio> findByNameIn(Collection<String> names);
+
+    /**
+     * Grava o estúdio se o nome ainda não existir, sem violar {@code uk_studio_name}.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO studio (name) KEY (name) VALUES (:name)", nativeQuery = true)
+    void merge(String name);
+}
@@ -0,0 +1,270 @@
+package com.awards.search;
+
+import com.awards.dto.ProducerMovies;
+import com.awards.dto.SearchSuggestion;
+import com.awards.entity.Movie;
+import com.awards.event.AbstractMovieChangeListener;
+import com.awards.event.MovieChangeGate;
+import com.awards.event.MoviesChangedEvent;
+import com.awards.repository.MovieBatchRepository;
+import com.awards.search.SuggestionTrie.Term;
+import com.awards.util.Names;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido e árvore de prefixos sobre títulos, produtores e estúdios, mantidos em
+ * memória para que busca, autocompletar e a consulta por produtor não varram a tabela
+ * {@code movie}. Textos são comparados sem diferenciar maiúsculas nem acentos.
+ * <p>
+ * É construído na inicialização a partir do banco e atualizado a cada {@link MoviesChangedEvent}
+ * após o commit; recargas completas o reconstroem. O conteúdo novo é montado fora dos locks e
+ * trocado com o {@link MovieChangeGate} adquirido, e as buscas seguem atendidas pelo conteúdo
+ * anterior enquanto o banco é lido.
+ */
+@Component
+public class MovieSearchIndex extends AbstractMovieChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieSearchIndex.class);
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Movie> RESULT_ORDER = Comparator
+            .comparing(Movie::getYear)
+            .thenComparing(Movie::getTitle)
+            .thenComparing(Movie::getId);
+
+    private final MovieBatchRepository movieBatchRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Contents contents = new Contents();
+
+    public MovieSearchIndex(MovieBatchRepository movieBatchRepository, MovieChangeGate movieChangeGate) {
+        super(movieChangeGate);
+        this.movieBatchRepository = movieBatchRepository;
+    }
+
+    /**
+     * Filmes que contêm todas as palavras de {@code query} nos campos informados, ordenados por ano e título.
+     *
+     * @param fields Campos pesquisados; vazio para todos.
+     */
+    public List<Movie> search(String query, Set<SearchField> fields, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<SearchField> searchedFields = fields.isEmpty() ? EnumSet.allOf(SearchField.class) : fields;
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> matches = new ArrayList<>();
+            for (String token : tokens) {
+                Set<Long> ids = new HashSet<>();
+                for (SearchField field : searchedFields) {
+                    ids.addAll(contents.postings.get(field).getOrDefault(token, Collections.emptySet()));
+                }
+                if (ids.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                matches.add(ids);
+            }
+            matches.sort(Comparator.comparingInt(Set::size));
+            List<Movie> result = new ArrayList<>();
+            for (Long id : matches.get(0)) {
+                if (matches.stream().allMatch(ids -> ids.contains(id))) {
+                    result.add(contents.movies.get(id));
+                }
+            }
+            result.sort(RESULT_ORDER);
+            return copies(result.subList(0, Math.min(limit, result.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Títulos, produtores e estúdios em que alguma palavra começa com {@code prefix}, em ordem alfabética.
+     */
+    public List<SearchSuggestion> autocomplete(String prefix, int limit) {
+        String key = String.join(" ", tokenize(prefix));
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            List<SearchSuggestion> suggestions = new ArrayList<>();
+            for (Term term : contents.trie.find(key, limit)) {
+                suggestions.add(new SearchSuggestion(term.field(), term.text(), contents.movieCounts.getOrDefault(term, 0)));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filmes de um produtor (nome exato) e os anos em que venceu.
+     *
+     * @return Vazio se nenhum filme tiver o produtor.
+     */
+    public Optional<ProducerMovies> findProducer(String producer) {
+        lock.readLock().lock();
+        try {
+            Set<Long> ids = contents.moviesByProducer.get(producer);
+            if (ids == null) {
+                return Optional.empty();
+            }
+            List<Movie> producerMovies = new ArrayList<>();
+            ids.forEach(id -> producerMovies.add(contents.movies.get(id)));
+            producerMovies.sort(RESULT_ORDER);
+            List<Integer> winYears = producerMovies.stream()
+                    .filter(movie -> Boolean.TRUE.equals(movie.getWinner()))
+                    .map(Movie::getYear)
+                    .toList();
+            return Optional.of(new ProducerMovies(producer, copies(producerMovies), winYears));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Runnable loadFromDatabase() {
+        long startTime = System.nanoTime();
+        Contents built = new Contents();
+        movieBatchRepository.scanAll(built::add);
+        log.info("Search index built from {} movies in {} ms", built.movies.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return () -> {
+            lock.writeLock().lock();
+            try {
+                contents = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+    }
+
+    @Override
+    protected void applyChange(MoviesChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getRemoved().forEach(movie -> contents.remove(movie.getId()));
+            event.getAdded().forEach(movie -> {
+                contents.remove(movie.getId());
+                contents.add(movie);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void forEachTerm(Movie movie, Consumer<Term> action) {
+        action.accept(new Term(SearchField.TITLE, movie.getTitle()));
+        Names.split(movie.getProducers()).forEach(producer -> action.accept(new Term(SearchField.PRODUCER, producer)));
+        Names.split(movie.getStudios()).forEach(studio -> action.accept(new Term(SearchField.STUDIO, studio)));
+    }
+
+    /**
+     * Chaves do termo na árvore de prefixos: o texto normalizado a partir do início de cada palavra,
+     * para que "silv" sugira "Joel Silver".
+     */
+    private static Set<String> suggestionKeys(String text) {
+        List<String> words = tokenize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return keys;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Movie> copies(List<Movie> indexed) {
+        return indexed.stream().map(movie -> movie.toBuilder().build()).toList();
+    }
+
+    /**
+     * Índices de um conjunto de filmes. Uma reconstrução monta um conteúdo novo sem lock; depois
+     * de instalado, ele só é alterado com o lock de escrita adquirido.
+     */
+    private static final class Contents {
+        private final Map<Long, Movie> movies = new HashMap<>();
+        private final Map<SearchField, Map<String, Set<Long>>> postings = new EnumMap<>(SearchField.class);
+        private final Map<String, Set<Long>> moviesByProducer = new HashMap<>();
+        private final Map<Term, Integer> movieCounts = new HashMap<>();
+        private final SuggestionTrie trie = new SuggestionTrie();
+
+        Contents() {
+            for (SearchField field : SearchField.values()) {
+                postings.put(field, new HashMap<>());
+            }
+        }
+
+        void add(Movie movie) {
+            if (movie.getId() == null) {
+                return;
+            }
+            Movie copy = movie.toBuilder().producerEntities(null).studioEntities(null).build();
+            movies.put(copy.getId(), copy);
+            forEachTerm(copy, term -> {
+                for (String token : tokenize(term.text())) {
+                    postings.get(term.field()).computeIfAbsent(token, k -> new HashSet<>()).add(copy.getId());
+                }
+                if (movieCounts.merge(term, 1, Integer::sum) == 1) {
+                    suggestionKeys(term.text()).forEach(key -> trie.add(key, term));
+                }
+                if (term.field() == SearchField.PRODUCER) {
+                    moviesByProducer.computeIfAbsent(term.text(), k -> new HashSet<>()).add(copy.getId());
+                }
+            });
+        }
+
+        void remove(Long id) {
+            Movie movie = id == null ? null : movies.remove(id);
+            if (movie == null) {
+                return;
+            }
+            forEachTerm(movie, term -> {
+                Map<String, Set<Long>> fieldPostings = postings.get(term.field());
+                for (String token : tokenize(term.text())) {
+                    Set<Long> ids = fieldPostings.get(token);
+                    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                        fieldPostings.remove(token);
+                    }
+                }
+                if (movieCounts.merge(term, -1, Integer::sum) == 0) {
+                    movieCounts.remove(term);
+                    suggestionKeys(term.text()).forEach(key -> trie.remove(key, term));
+                }
+                if (term.field() == SearchField.PRODUCER) {
+                    Set<Long> ids = moviesByProducer.get(term.text());
+                    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                        moviesByProducer.remove(term.text());
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.awards.search;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Campos de {@link com.awards.entity.Movie} cobertos pelo {@link MovieSearchIndex}.
+ */
+public enum SearchField {
+    TITLE,
+    PRODUCER,
+    STUDIO;
+
+    public static Optional<SearchField> of(String name) {
+        return Arrays.stream(values()).filter(field -> field.name().equalsIgnoreCase(name)).findFirst();
+    }
+}
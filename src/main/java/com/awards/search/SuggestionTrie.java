@@ -0,0 +1,90 @@
+package com.awards.search;
+
+import java.util.*;
+
+/**
+ * Árvore de prefixos sobre chaves normalizadas. Cada chave aponta para os termos originais que
+ * a produziram; uma consulta desce pelo prefixo e percorre a subárvore em ordem alfabética até
+ * reunir o limite pedido, então o custo depende do prefixo e do limite, não do vocabulário.
+ * <p>
+ * Não é thread-safe: o {@link MovieSearchIndex} controla o acesso.
+ */
+final class SuggestionTrie {
+
+    private final Node root = new Node();
+
+    void add(String key, Term term) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        node.terms.add(term);
+    }
+
+    void remove(String key, Term term) {
+        remove(root, key, 0, term);
+    }
+
+    /**
+     * Os primeiros {@code limit} termos distintos cujas chaves começam com {@code prefix}.
+     */
+    List<Term> find(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        Set<Term> found = new LinkedHashSet<>();
+        collect(node, found, limit);
+        return new ArrayList<>(found);
+    }
+
+    private static void collect(Node node, Set<Term> found, int limit) {
+        for (Term term : node.terms) {
+            if (found.size() == limit) {
+                return;
+            }
+            found.add(term);
+        }
+        for (Node child : node.children.values()) {
+            if (found.size() == limit) {
+                return;
+            }
+            collect(child, found, limit);
+        }
+    }
+
+    /**
+     * @return {@code true} se o nó ficou vazio e pode ser descartado pelo pai.
+     */
+    private static boolean remove(Node node, String key, int depth, Term term) {
+        if (depth == key.length()) {
+            node.terms.remove(term);
+        } else {
+            Node child = node.children.get(key.charAt(depth));
+            if (child != null && remove(child, key, depth + 1, term)) {
+                node.children.remove(key.charAt(depth));
+            }
+        }
+        return node.terms.isEmpty() && node.children.isEmpty();
+    }
+
+    /**
+     * Um título, produtor ou estúdio, com o texto original.
+     */
+    record Term(SearchField field, String text) implements Comparable<Term> {
+        private static final Comparator<Term> ORDER = Comparator.comparing(Term::text).thenComparing(Term::field);
+
+        @Override
+        public int compareTo(Term other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final TreeSet<Term> terms = new TreeSet<>();
+    }
+}
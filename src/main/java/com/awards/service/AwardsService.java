@@ -2,71 +2,188 @@ package com.awards.service;
 
 import com.awards.dto.AwardIntervalResponse;
 import com.awards.dto.ProducerInterval;
-import com.awards.entity.Movie;
-import com.awards.repository.MovieRepository;
+import com.awards.dto.ProducerWins;
+import com.awards.index.ProducerIntervalIndex;
+import com.awards.metrics.IntervalMetrics;
+import com.awards.repository.ProducerRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class AwardsService {
 
-    private final MovieRepository movieRepository;
+    /**
+     * Estratégias disponíveis para calcular os intervalos, escolhidas por
+     * {@code awards.intervals.engine}.
+     */
+    public enum IntervalEngine {
+        /** Resultado mantido em memória pelo {@link ProducerIntervalIndex}. */
+        INDEX,
+        /** Cálculo no banco com funções de janela sobre as tabelas normalizadas. */
+        DATABASE,
+        /** Cálculo em paralelo, por fatias de produtores, pelo {@link ParallelIntervalCalculator}. */
+        PARALLEL
+    }
+
+    private final ProducerIntervalIndex producerIntervalIndex;
+    private final ProducerRepository producerRepository;
+    private final ParallelIntervalCalculator parallelIntervalCalculator;
+    private final IntervalEngine engine;
+    private final DatasetVersion datasetVersion;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<Long, AwardIntervalResponse> intervalsFlight = new SingleFlight<>();
+    private final Timer intervalsTimer;
+    private final Timer intervalQueryTimer;
 
-    public AwardsService(MovieRepository movieRepository) {
-        this.movieRepository = movieRepository;
+    public AwardsService(ProducerIntervalIndex producerIntervalIndex, ProducerRepository producerRepository,
+                         ParallelIntervalCalculator parallelIntervalCalculator,
+                         @Value("${awards.intervals.engine:index}") IntervalEngine engine,
+                         DatasetVersion datasetVersion, MeterRegistry meterRegistry) {
+        this.producerIntervalIndex = producerIntervalIndex;
+        this.producerRepository = producerRepository;
+        this.parallelIntervalCalculator = parallelIntervalCalculator;
+        this.engine = engine;
+        this.datasetVersion = datasetVersion;
+        this.meterRegistry = meterRegistry;
+        this.intervalsTimer = Timer.builder("awards.intervals")
+                .description("Tempo para obter os intervalos entre prêmios")
+                .tag("engine", engine.name().toLowerCase())
+                .register(meterRegistry);
+        this.intervalQueryTimer = Timer.builder("awards.intervals.query")
+                .description("Tempo das consultas de intervalos com filtros de anos, estúdio ou limite")
+                .register(meterRegistry);
+        FunctionCounter.builder("awards.intervals.calculations", intervalsFlight, SingleFlight::executions)
+                .description("Cálculos de intervalos de fato executados pelos motores database e parallel")
+                .tag("engine", engine.name().toLowerCase())
+                .register(meterRegistry);
+        FunctionCounter.builder("awards.intervals.coalesced", intervalsFlight, SingleFlight::coalesced)
+                .description("Chamadas que reaproveitaram um cálculo de intervalos já em andamento")
+                .tag("engine", engine.name().toLowerCase())
+                .register(meterRegistry);
+        Gauge.builder("awards.intervals.waiting", intervalsFlight, SingleFlight::waiting)
+                .description("Chamadas aguardando um cálculo de intervalos em andamento")
+                .tag("engine", engine.name().toLowerCase())
+                .register(meterRegistry);
     }
 
+    /**
+     * Retorna os produtores com o menor e o maior intervalo entre dois prêmios consecutivos.
+     * Com o motor padrão o resultado é mantido pelo {@link ProducerIntervalIndex}, que é
+     * atualizado a cada alteração de vencedores, portanto esta consulta não acessa o banco.
+     * <p>
+     * Nos motores que calculam a cada chamada, chamadas simultâneas sobre a mesma versão dos
+     * dados compartilham um único cálculo, evitando que várias consultas iguais disputem CPU e
+     * conexões logo após uma importação.
+     */
     public AwardIntervalResponse getProducersAwardIntervals() {
-        List<Movie> winners = movieRepository.findByWinnerTrueOrderByYearAsc();
-        Map<String, List<Integer>> producerWins = new HashMap<>();
-
-        // 1. Mapeia cada produtor a uma lista de anos em que venceu
-        for (Movie winner : winners) {
-            String[] producers = winner.getProducers().split(",|\\s+and\\s+");
-            for (String producerName : producers) {
-                String trimmedName = producerName.trim();
-                if (!trimmedName.isEmpty()) {
-                    producerWins.computeIfAbsent(trimmedName, k -> new ArrayList<>()).add(winner.getYear());
-                }
-            }
-        }
+        return intervalsTimer.record(() -> switch (engine) {
+            case INDEX -> producerIntervalIndex.getResponse();
+            case DATABASE -> intervalsFlight.execute(datasetVersion.get(), this::getProducersAwardIntervalsFromDatabase);
+            case PARALLEL -> intervalsFlight.execute(datasetVersion.get(), this::getProducersAwardIntervalsInParallel);
+        });
+    }
 
-        List<ProducerInterval> allIntervals = new ArrayList<>();
+    /**
+     * Intervalos com as duas vitórias em {@code [from, to]}, opcionalmente restritos a um estúdio.
+     * Independentemente do motor configurado, é respondida pela árvore de anos do
+     * {@link ProducerIntervalIndex}: tempo logarítmico mais o tamanho da resposta, somado à
+     * ordenação dos intervalos alterados desde a última montagem da árvore que começam na faixa
+     * (no máximo 256 ou a raiz quadrada do total) e aos removidos encontrados no percurso.
+     *
+     * @param limit Quantidade de intervalos em cada lista; {@code 0} devolve apenas os empates nos extremos.
+     */
+    public AwardIntervalResponse getProducersAwardIntervals(int from, int to, int limit, String studio) {
+        return intervalQueryTimer.record(() -> producerIntervalIndex.query(from, to, limit, studio));
+    }
+
+    /**
+     * Carrega os anos de vitória de cada produtor em arrays primitivos e calcula os
+     * intervalos em paralelo.
+     */
+    public AwardIntervalResponse getProducersAwardIntervalsInParallel() {
+        List<Object[]> rows = phaseTimer(IntervalEngine.PARALLEL, "query").record(producerRepository::findAllWinYears);
 
-        // 2. Calcula os intervalos para produtores com mais de um prêmio
-        for (Map.Entry<String, List<Integer>> entry : producerWins.entrySet()) {
-            String producer = entry.getKey();
-            List<Integer> years = entry.getValue().stream().sorted().toList();
+        Timer.Sample groupSample = Timer.start(meterRegistry);
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> producers = new ArrayList<>();
+        List<int[]> years = new ArrayList<>();
+        int[] sizes = new int[16];
 
-            if (years.size() > 1) {
-                for (int i = 0; i < years.size() - 1; i++) {
-                    int previousWin = years.get(i);
-                    int followingWin = years.get(i + 1);
-                    int interval = followingWin - previousWin;
-                    allIntervals.add(new ProducerInterval(producer, interval, previousWin, followingWin));
-                }
+        for (Object[] row : rows) {
+            int position = positions.computeIfAbsent((String) row[0], name -> {
+                producers.add(name);
+                years.add(new int[2]);
+                return producers.size() - 1;
+            });
+            if (position == sizes.length) {
+                sizes = Arrays.copyOf(sizes, sizes.length * 2);
             }
-        }
-        
-        if (allIntervals.isEmpty()) {
-            return new AwardIntervalResponse(Collections.emptyList(), Collections.emptyList());
+            int[] producerYears = years.get(position);
+            if (sizes[position] == producerYears.length) {
+                producerYears = Arrays.copyOf(producerYears, producerYears.length * 2);
+                years.set(position, producerYears);
+            }
+            producerYears[sizes[position]++] = (Integer) row[1];
         }
 
-        // 3. Encontra o intervalo mínimo e máximo
-        int minInterval = allIntervals.stream().min(Comparator.comparingInt(ProducerInterval::getInterval)).get().getInterval();
-        int maxInterval = allIntervals.stream().max(Comparator.comparingInt(ProducerInterval::getInterval)).get().getInterval();
+        int[][] winYears = new int[producers.size()][];
+        for (int i = 0; i < winYears.length; i++) {
+            winYears[i] = Arrays.copyOf(years.get(i), sizes[i]);
+        }
+        String[] producerNames = producers.toArray(String[]::new);
+        groupSample.stop(phaseTimer(IntervalEngine.PARALLEL, "group"));
 
-        // 4. Filtra para obter todos os produtores com esses intervalos
-        List<ProducerInterval> minProducers = allIntervals.stream()
-                .filter(p -> p.getInterval() == minInterval)
-                .collect(Collectors.toList());
+        return phaseTimer(IntervalEngine.PARALLEL, "scan").record(
+                () -> parallelIntervalCalculator.calculate(producerNames, winYears));
+    }
 
-        List<ProducerInterval> maxProducers = allIntervals.stream()
-                .filter(p -> p.getInterval() == maxInterval)
-                .collect(Collectors.toList());
+    /**
+     * Calcula os intervalos com uma única consulta SQL que já devolve apenas os empates
+     * no menor e no maior intervalo.
+     */
+    public AwardIntervalResponse getProducersAwardIntervalsFromDatabase() {
+        List<Object[]> rows = phaseTimer(IntervalEngine.DATABASE, "query").record(producerRepository::findMinAndMaxWinIntervals);
+        if (rows.isEmpty()) {
+            return new AwardIntervalResponse(Collections.emptyList(), Collections.emptyList());
+        }
 
+        Timer.Sample groupSample = Timer.start(meterRegistry);
+        int minInterval = ((Number) rows.get(0)[1]).intValue();
+        List<ProducerInterval> minProducers = new ArrayList<>();
+        List<ProducerInterval> maxProducers = new ArrayList<>();
+        for (Object[] row : rows) {
+            ProducerInterval interval = new ProducerInterval((String) row[0], ((Number) row[1]).intValue(),
+                    ((Number) row[2]).intValue(), ((Number) row[3]).intValue());
+            (interval.getInterval() == minInterval ? minProducers : maxProducers).add(interval);
+        }
+        if (maxProducers.isEmpty()) {
+            maxProducers = minProducers; // Todos os intervalos têm o mesmo tamanho
+        }
+        groupSample.stop(phaseTimer(IntervalEngine.DATABASE, "group"));
         return new AwardIntervalResponse(minProducers, maxProducers);
     }
-}
\ No newline at end of file
+
+    /**
+     * Timer de uma fase do cálculo: {@code query} (leitura do banco), {@code group}
+     * (agrupamento por produtor ou separação dos empates) e {@code scan} (varredura dos intervalos).
+     */
+    private Timer phaseTimer(IntervalEngine phaseEngine, String phase) {
+        return IntervalMetrics.phaseTimer(meterRegistry, phaseEngine.name().toLowerCase(), phase);
+    }
+
+    /**
+     * Anos em que um produtor venceu, consultados pelas tabelas normalizadas.
+     *
+     * @return Os anos de vitória, ou vazio se o produtor não existir.
+     */
+    public Optional<ProducerWins> getProducerWins(String producer) {
+        return producerRepository.findByName(producer)
+                .map(p -> new ProducerWins(p.getName(), producerRepository.findWinYearsByName(p.getName())));
+    }
+}
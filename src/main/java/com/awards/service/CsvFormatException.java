@@ -0,0 +1,11 @@
+package com.awards.service;
+
+/**
+ * Indica uma linha do arquivo CSV que não pode ser convertida em um filme válido.
+ */
+public class CsvFormatException extends RuntimeException {
+
+    public CsvFormatException(String message) {
+        super(message);
+    }
+}
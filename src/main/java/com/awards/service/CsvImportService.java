@@ -1,93 +1,340 @@
 package com.awards.service;
 
+import com.awards.dto.ImportResult;
 import com.awards.entity.Movie;
-import com.awards.repository.MovieRepository;
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvValidationException;
+import com.awards.event.MoviesChangedEvent;
+import com.awards.repository.MovieBatchRepository;
+import com.awards.repository.MovieBatchRepository.MergeResult;
+import com.awards.repository.MovieBatchRepository.StoredFingerprint;
+import com.awards.repository.MovieKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 @Service
 public class CsvImportService {
 
     private static final Logger log = LoggerFactory.getLogger(CsvImportService.class);
-    private final MovieRepository movieRepository;
+    private final MovieBatchRepository movieBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Timer batchTimer;
+    private final Timer bulkImportTimer;
+    private final Timer streamingImportTimer;
+    private final Timer upsertImportTimer;
+    private final Timer deltaImportTimer;
+    private final Counter rowsParsed;
+    private final Counter rowsWritten;
 
-    public CsvImportService(MovieRepository movieRepository) {
-        this.movieRepository = movieRepository;
+    public CsvImportService(MovieBatchRepository movieBatchRepository, ApplicationEventPublisher eventPublisher,
+                            @Value("${awards.import.batch-size:1000}") int batchSize,
+                            @Value("${awards.import.queue-capacity:4}") int queueCapacity,
+                            MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            // Com zero ou menos os lotes nunca avançariam; falha na partida, não na primeira importação
+            throw new IllegalArgumentException("awards.import.batch-size deve ser maior que zero: " + batchSize);
+        }
+        if (queueCapacity < 1) {
+            // As filas do pipeline são ArrayBlockingQueue, que recusa capacidade zero em cada importação
+            throw new IllegalArgumentException("awards.import.queue-capacity deve ser maior que zero: " + queueCapacity);
+        }
+        this.movieBatchRepository = movieBatchRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.batchTimer = Timer.builder("awards.import.batch")
+                .description("Tempo de gravação de cada lote JDBC da importação")
+                .register(meterRegistry);
+        this.bulkImportTimer = importTimer(meterRegistry, "bulk");
+        this.streamingImportTimer = importTimer(meterRegistry, "streaming");
+        this.upsertImportTimer = importTimer(meterRegistry, "upsert");
+        this.deltaImportTimer = importTimer(meterRegistry, "delta");
+        this.rowsParsed = rowCounter(meterRegistry, "parsed");
+        this.rowsWritten = rowCounter(meterRegistry, "written");
     }
 
     /**
      * Processa um arquivo CSV a partir de um InputStream, parseia os dados
-     * e os persiste no banco de dados de forma transacional e paralela.
+     * e os persiste no banco de dados em lotes JDBC, dentro de uma única transação.
      *
      * @param inputStream O fluxo de dados do arquivo CSV.
-     * @return O número de registros de filmes importados.
+     * @return O número de registros importados e a vazão obtida.
      * @throws IOException Se ocorrer um erro de I/O.
-     * @throws CsvValidationException Se o CSV for inválido.
-     * @throws InterruptedException Se a thread for interrompida.
+     * @throws CsvFormatException Se o CSV for inválido.
      */
     @Transactional(rollbackFor = Exception.class)
-    public int importMoviesFromCsv(InputStream inputStream) throws IOException, CsvValidationException, InterruptedException {
-        long startTime = System.currentTimeMillis();
+    public ImportResult importMoviesFromCsv(InputStream inputStream) throws IOException {
+        return importMoviesFromCsv(inputStream, ImportMode.INSERT);
+    }
+
+    /**
+     * Igual a {@link #importMoviesFromCsv(InputStream)}, gravando as linhas conforme {@code mode}.
+     * <p>
+     * Em {@link ImportMode#UPSERT}, cada lote é comparado com o banco em uma única consulta pela
+     * chave natural (ano + título) e apenas as linhas novas ou alteradas são gravadas, com um
+     * {@code MERGE} em lote. Linhas repetidas no próprio arquivo valem pela última ocorrência.
+     * Reenviar o mesmo arquivo não grava nada nem altera a versão dos dados.
+     * <p>
+     * Em {@link ImportMode#DELTA}, o arquivo substitui o catálogo: linhas novas ou cujo
+     * fingerprint mudou são gravadas como no upsert e filmes ausentes do arquivo são removidos.
+     * Os ouvintes recebem apenas essas alterações.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResult importMoviesFromCsv(InputStream inputStream, ImportMode mode) throws IOException {
+        if (mode == ImportMode.UPSERT) {
+            return upsertMovies(inputStream);
+        }
+        if (mode == ImportMode.DELTA) {
+            return deltaMovies(inputStream);
+        }
+        long startTime = System.nanoTime();
 
         List<Movie> moviesToSave = readMovies(inputStream);
+        rowsParsed.increment(moviesToSave.size());
 
         saveMovies(moviesToSave);
+        eventPublisher.publishEvent(MoviesChangedEvent.added(moviesToSave));
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        bulkImportTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        ImportResult result = ImportResult.of(moviesToSave.size(), elapsedNanos);
+        log.info("Finished processing {} records from CSV in {} ms ({} rows/s, batch size {})",
+                result.getRows(), result.getElapsedMillis(), Math.round(result.getRowsPerSecond()), batchSize);
+        return result;
+    }
+
+    /**
+     * Importa um arquivo CSV em modo streaming: as linhas são lidas, validadas e gravadas
+     * em lotes à medida que chegam, com filas limitadas entre os estágios. O uso de memória
+     * não depende do tamanho do arquivo e toda a carga continua em uma única transação.
+     * <p>
+     * Como os filmes não ficam retidos, os índices derivados são reconstruídos a partir
+     * do banco após o commit, em vez de receberem a lista de filmes importados.
+     *
+     * @param inputStream O fluxo de dados do arquivo CSV.
+     * @return O número de registros importados e a vazão obtida.
+     * @throws IOException Se ocorrer um erro de I/O.
+     * @throws CsvFormatException Se o CSV for inválido.
+     * @throws InterruptedException Se a thread for interrompida.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResult importMoviesStreaming(InputStream inputStream) throws IOException, InterruptedException {
+        return importMoviesStreaming(inputStream, ImportProgress.NONE);
+    }
+
+    /**
+     * Igual a {@link #importMoviesStreaming(InputStream)}, informando o andamento a {@code progress}.
+     *
+     * @throws ImportCancelledException Se a importação for cancelada; nada é gravado.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResult importMoviesStreaming(InputStream inputStream, ImportProgress progress) throws IOException, InterruptedException {
+        long startTime = System.nanoTime();
+
+        MovieImportPipeline pipeline = new MovieImportPipeline(batchSize, queueCapacity, CsvImportService::validate);
+        int importedCount = pipeline.run(inputStream, this::writeBatch, new ImportProgress() {
+            @Override
+            public void parsed(int rows) {
+                rowsParsed.increment(rows);
+                progress.parsed(rows);
+            }
+
+            @Override
+            public void written(int rows) {
+                progress.written(rows);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return progress.isCancelled();
+            }
+        });
+        eventPublisher.publishEvent(MoviesChangedEvent.reloaded());
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        streamingImportTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        ImportResult result = ImportResult.of(importedCount, elapsedNanos);
+        log.info("Finished streaming {} records from CSV in {} ms ({} rows/s, batch size {})",
+                result.getRows(), result.getElapsedMillis(), Math.round(result.getRowsPerSecond()), batchSize);
+        return result;
+    }
+
+    private ImportResult upsertMovies(InputStream inputStream) throws IOException {
+        long startTime = System.nanoTime();
+
+        List<Movie> moviesRead = readMovies(inputStream);
+        rowsParsed.increment(moviesRead.size());
+        Changes changes = mergeMovies(distinctByKey(moviesRead));
+        changes.publish(eventPublisher);
 
-        long endTime = System.currentTimeMillis();
-        log.info("Finished processing {} records from CSV in {} ms", moviesToSave.size(), (endTime - startTime));
-        return moviesToSave.size();
+        long elapsedNanos = System.nanoTime() - startTime;
+        upsertImportTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        ImportResult result = changes.toResult(moviesRead.size(), elapsedNanos);
+        log.info("Finished upserting {} records from CSV in {} ms ({} inserted, {} updated, {} unchanged)",
+                result.getRows(), result.getElapsedMillis(), result.getInserted(), result.getUpdated(), result.getUnchanged());
+        return result;
     }
 
-    private void saveMovies(List<Movie> moviesToSave) throws InterruptedException {
-        int numThreads = Runtime.getRuntime().availableProcessors();
-        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    /**
+     * O arquivo representa o catálogo completo. Os fingerprints gravados são lidos de uma vez,
+     * sem as demais colunas, e só as linhas com chave nova ou fingerprint diferente seguem
+     * para o {@code MERGE}; filmes ausentes do arquivo são removidos.
+     */
+    private ImportResult deltaMovies(InputStream inputStream) throws IOException {
+        long startTime = System.nanoTime();
+
+        List<Movie> moviesRead = readMovies(inputStream);
+        rowsParsed.increment(moviesRead.size());
+        Map<MovieKey, StoredFingerprint> stored = movieBatchRepository.findAllFingerprints();
+        List<Movie> candidates = new ArrayList<>();
+        int unchanged = 0;
+        for (Movie movie : distinctByKey(moviesRead)) {
+            StoredFingerprint storedFingerprint = stored.remove(MovieKey.of(movie));
+            if (storedFingerprint != null && Objects.equals(storedFingerprint.fingerprint(), movie.computeFingerprint())) {
+                unchanged++;
+            } else {
+                candidates.add(movie);
+            }
+        }
+
+        Changes changes = mergeMovies(candidates);
+        changes.unchanged += unchanged;
+        List<Long> idsToDelete = stored.values().stream().map(StoredFingerprint::id).toList();
+        for (int from = 0; from < idsToDelete.size(); from += batchSize) {
+            List<Long> batch = idsToDelete.subList(from, Math.min(from + batchSize, idsToDelete.size()));
+            changes.deleted.addAll(batchTimer.record(() -> movieBatchRepository.deleteAll(batch)));
+        }
+        changes.publish(eventPublisher);
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        deltaImportTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        ImportResult result = changes.toResult(moviesRead.size(), elapsedNanos);
+        log.info("Finished delta import of {} records from CSV in {} ms ({} inserted, {} updated, {} deleted, {} unchanged)",
+                result.getRows(), result.getElapsedMillis(), result.getInserted(), result.getUpdated(),
+                result.getDeleted(), result.getUnchanged());
+        return result;
+    }
 
-        for (final Movie movie : moviesToSave) {
-            executor.submit(() -> movieRepository.save(movie));
+    private Changes mergeMovies(List<Movie> movies) {
+        Changes changes = new Changes();
+        for (int from = 0; from < movies.size(); from += batchSize) {
+            List<Movie> batch = movies.subList(from, Math.min(from + batchSize, movies.size()));
+            MergeResult merged = batchTimer.record(() -> movieBatchRepository.mergeAll(batch));
+            changes.inserted.addAll(merged.inserted());
+            changes.updated.addAll(merged.updated());
+            changes.previous.addAll(merged.previous());
+            changes.unchanged += merged.unchanged();
+            rowsWritten.increment(merged.inserted().size() + merged.updated().size());
         }
+        return changes;
+    }
+
+    /**
+     * Mantém um filme por chave natural: a última ocorrência no arquivo, na posição da primeira.
+     */
+    private static List<Movie> distinctByKey(List<Movie> movies) {
+        Map<MovieKey, Movie> moviesByKey = new LinkedHashMap<>();
+        movies.forEach(movie -> moviesByKey.put(MovieKey.of(movie), movie));
+        return new ArrayList<>(moviesByKey.values());
+    }
 
-        executor.shutdown();
-        if (!executor.awaitTermination(5, TimeUnit.MINUTES)) {
-            log.error("CSV data processing timed out.");
-            executor.shutdownNow();
+    private void saveMovies(List<Movie> moviesToSave) {
+        for (int from = 0; from < moviesToSave.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, moviesToSave.size());
+            writeBatch(moviesToSave.subList(from, to));
         }
     }
 
-    private static List<Movie> readMovies(InputStream inputStream) throws IOException, CsvValidationException {
+    private void writeBatch(List<Movie> batch) {
+        batchTimer.record(() -> movieBatchRepository.insertAll(batch));
+        rowsWritten.increment(batch.size());
+    }
+
+    private static Timer importTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("awards.import")
+                .description("Tempo total de cada importação de CSV")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("awards.import.rows")
+                .description("Linhas de CSV processadas pelas importações")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private static List<Movie> readMovies(InputStream inputStream) throws IOException {
         List<Movie> moviesToSave = new ArrayList<>();
 
-        try (CSVReader reader = new CSVReader(new InputStreamReader(inputStream))) {
-            reader.readNext(); // Pula o cabeçalho
-
-            String[] line;
-            while ((line = reader.readNext()) != null) {
-                String[] values = line[0].split(";", -1); // -1 para incluir colunas vazias no final
-
-                if (values.length >= 4) {
-                    Movie movie = Movie.builder()
-                            .year(Integer.parseInt(values[0].trim()))
-                            .title(values[1].trim())
-                            .studios(values[2].trim())
-                            .producers(values[3].trim())
-                            .winner(values.length > 4 && "yes".equalsIgnoreCase(values[4].trim()))
-                            .build();
-                    moviesToSave.add(movie);
-                }
+        try (MovieCsvParser parser = new MovieCsvParser(inputStream)) {
+            Movie movie;
+            while ((movie = parser.next()) != null) {
+                validate(movie);
+                moviesToSave.add(movie);
             }
         }
         return moviesToSave;
     }
-}
\ No newline at end of file
+
+    /**
+     * Aplica as mesmas restrições da entidade {@link Movie} antes de enviar a linha ao banco.
+     *
+     * @throws CsvFormatException Se algum campo obrigatório estiver vazio.
+     */
+    private static void validate(Movie movie) {
+        if (movie.getTitle().isEmpty()) {
+            throw new CsvFormatException(String.format("Filme sem título no ano %d.", movie.getYear()));
+        }
+        if (movie.getStudios().isEmpty() || movie.getProducers().isEmpty()) {
+            throw new CsvFormatException(String.format("Filme '%s' (%d) sem estúdios ou produtores.",
+                    movie.getTitle(), movie.getYear()));
+        }
+    }
+
+    /**
+     * Alterações acumuladas por uma importação upsert ou delta.
+     */
+    private static class Changes {
+        private final List<Movie> inserted = new ArrayList<>();
+        private final List<Movie> updated = new ArrayList<>();
+        private final List<Movie> previous = new ArrayList<>();
+        private final List<Movie> deleted = new ArrayList<>();
+        private int unchanged;
+
+        /**
+         * Publica um único evento com o estado anterior dos filmes atualizados e removidos e
+         * o novo estado dos atualizados e inseridos. Nada é publicado se nada mudou.
+         */
+        void publish(ApplicationEventPublisher eventPublisher) {
+            if (inserted.isEmpty() && updated.isEmpty() && deleted.isEmpty()) {
+                return;
+            }
+            List<Movie> removed = new ArrayList<>(previous);
+            removed.addAll(deleted);
+            List<Movie> added = new ArrayList<>(updated);
+            added.addAll(inserted);
+            eventPublisher.publishEvent(MoviesChangedEvent.replaced(removed, added));
+        }
+
+        ImportResult toResult(int rows, long elapsedNanos) {
+            return ImportResult.of(rows, inserted.size(), updated.size(), unchanged, deleted.size(), elapsedNanos);
+        }
+    }
+}
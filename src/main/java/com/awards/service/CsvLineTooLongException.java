@@ -0,0 +1,14 @@
+package com.awards.service;
+
+import java.io.IOException;
+
+/**
+ * Uma linha do arquivo CSV não cabe no limite do {@link MovieCsvParser}, como acontece com um
+ * arquivo binário ou sem quebras de linha.
+ */
+public class CsvLineTooLongException extends IOException {
+
+    public CsvLineTooLongException(String message) {
+        super(message);
+    }
+}
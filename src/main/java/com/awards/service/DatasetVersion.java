@@ -0,0 +1,49 @@
+package com.awards.service;
+
+import com.awards.event.MoviesChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão monotônica dos dados de filmes, incrementada após o commit de cada alteração.
+ * Serve de base para as ETags dos endpoints cujo resultado só depende desses dados.
+ * <p>
+ * O incremento roda depois dos demais ouvintes de {@link MoviesChangedEvent}, de modo que
+ * uma nova versão nunca é anunciada antes de os índices em memória refletirem a alteração.
+ */
+@Component
+public class DatasetVersion {
+
+    /** Diferencia as versões de execuções diferentes da aplicação. */
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    public long get() {
+        return version.get();
+    }
+
+    /**
+     * @return Uma ETag forte (entre aspas) que identifica a versão atual dos dados.
+     */
+    public String getETag() {
+        return "\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Anuncia uma nova versão para alterações que não passam por {@link MoviesChangedEvent},
+     * como a reconstrução dos índices a partir do snapshot.
+     */
+    public void increment() {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoviesChanged(MoviesChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
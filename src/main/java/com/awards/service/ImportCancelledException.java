@@ -0,0 +1,11 @@
+package com.awards.service;
+
+/**
+ * Lançada pelo estágio de gravação quando a importação é cancelada; a transação é desfeita.
+ */
+public class ImportCancelledException extends RuntimeException {
+
+    public ImportCancelledException() {
+        super("Importação cancelada.");
+    }
+}
@@ -0,0 +1,100 @@
+package com.awards.service;
+
+import com.awards.dto.ImportJobStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de uma importação assíncrona. Os contadores são atualizados pelos estágios do
+ * pipeline enquanto a importação roda e podem ser lidos a qualquer momento.
+ */
+public class ImportJob implements ImportProgress {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Instant submittedAt = Instant.now();
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public void parsed(int rows) {
+        rowsParsed.addAndGet(rows);
+    }
+
+    @Override
+    public void written(int rows) {
+        rowsWritten.addAndGet(rows);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    /**
+     * Pede o cancelamento; o pipeline o atende antes de gravar o próximo lote.
+     *
+     * @return {@code false} se a importação já tinha terminado.
+     */
+    public synchronized boolean requestCancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    synchronized void start() {
+        startedNanos = System.nanoTime();
+        status = Status.RUNNING;
+    }
+
+    synchronized void finish(Status finalStatus) {
+        finishedNanos = System.nanoTime();
+        status = finalStatus;
+    }
+
+    void fail(String error) {
+        errors.add(error);
+        finish(Status.FAILED);
+    }
+
+    boolean isFinished() {
+        return status.isFinished();
+    }
+
+    public synchronized ImportJobStatus toStatus() {
+        long elapsedNanos = 0;
+        if (startedNanos != 0) {
+            elapsedNanos = (finishedNanos != 0 ? finishedNanos : System.nanoTime()) - startedNanos;
+        }
+        long written = rowsWritten.get();
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : written * 1_000_000_000d / elapsedNanos;
+        return new ImportJobStatus(id, status.name(), submittedAt, rowsParsed.get(), written,
+                elapsedNanos / 1_000_000, rowsPerSecond, List.copyOf(errors));
+    }
+}
@@ -0,0 +1,138 @@
+package com.awards.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa importações de CSV em segundo plano, num executor próprio, para que a requisição
+ * de upload não fique presa durante a carga. O arquivo é copiado para um arquivo temporário
+ * antes de a requisição terminar e a importação roda em modo streaming a partir dele.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final CsvImportService csvImportService;
+    private final ThreadPoolExecutor executor;
+    private final int retainedJobs;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    /** Ids na ordem de submissão, para descartar primeiro os jobs mais antigos. */
+    private final ConcurrentLinkedQueue<String> submissionOrder = new ConcurrentLinkedQueue<>();
+
+    public ImportJobService(CsvImportService csvImportService,
+                            @Value("${awards.import.jobs.concurrency:1}") int concurrency,
+                            @Value("${awards.import.jobs.queue-capacity:16}") int queueCapacity,
+                            @Value("${awards.import.jobs.retained:100}") int retainedJobs) {
+        this.csvImportService = csvImportService;
+        this.retainedJobs = retainedJobs;
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("csv-import-job-", 0).daemon().factory());
+    }
+
+    /**
+     * Guarda o conteúdo num arquivo temporário e agenda a importação.
+     *
+     * @return O job criado, ainda na fila.
+     * @throws IOException Se não for possível gravar o arquivo temporário.
+     * @throws RejectedExecutionException Se a fila de importações estiver cheia.
+     */
+    public ImportJob submit(InputStream content) throws IOException {
+        Path file = Files.createTempFile("awards-import-", ".csv");
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+            ImportJob job = new ImportJob();
+            jobs.put(job.getId(), job);
+            submissionOrder.add(job.getId());
+            try {
+                executor.execute(() -> run(job, file));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.getId());
+                submissionOrder.remove(job.getId());
+                throw e;
+            }
+            discardOldJobs();
+            return job;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    public Optional<ImportJob> findJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ImportJob job, Path file) {
+        try {
+            if (job.isCancelled()) {
+                job.finish(ImportJob.Status.CANCELLED);
+                return;
+            }
+            job.start();
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                csvImportService.importMoviesStreaming(inputStream, job);
+                job.finish(ImportJob.Status.COMPLETED);
+            }
+        } catch (ImportCancelledException e) {
+            job.finish(ImportJob.Status.CANCELLED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(ImportJob.Status.CANCELLED);
+        } catch (CsvFormatException | CsvLineTooLongException e) {
+            job.fail("Erro de formatação no arquivo CSV: " + e.getMessage());
+        } catch (IOException e) {
+            job.fail("Erro ao ler o arquivo: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.fail("Ocorreu um erro inesperado ao processar o arquivo: " + e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+        log.info("Import job {} finished as {}", job.getId(), job.getStatus());
+    }
+
+    private void discardOldJobs() {
+        Iterator<String> ids = submissionOrder.iterator();
+        while (jobs.size() > retainedJobs && ids.hasNext()) {
+            String id = ids.next();
+            ImportJob job = jobs.get(id);
+            if (job == null || job.isFinished()) {
+                jobs.remove(id);
+                ids.remove();
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary import file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.awards.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Como as linhas do CSV são gravadas.
+ */
+public enum ImportMode {
+    /** Todas as linhas são inseridas; filmes já existentes violam a chave natural. */
+    INSERT,
+    /** Linhas com ano e título já existentes atualizam o filme; as demais são inseridas. */
+    UPSERT,
+    /** O arquivo é o catálogo completo: grava só o que mudou e remove os filmes ausentes. */
+    DELTA;
+
+    public static Optional<ImportMode> of(String name) {
+        return Arrays.stream(values()).filter(mode -> mode.name().equalsIgnoreCase(name)).findFirst();
+    }
+}
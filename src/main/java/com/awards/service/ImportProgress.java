@@ -0,0 +1,20 @@
+package com.awards.service;
+
+/**
+ * Recebe o andamento de uma importação em streaming e permite cancelá-la entre dois lotes.
+ */
+public interface ImportProgress {
+
+    ImportProgress NONE = new ImportProgress() {
+    };
+
+    default void parsed(int rows) {
+    }
+
+    default void written(int rows) {
+    }
+
+    default boolean isCancelled() {
+        return false;
+    }
+}
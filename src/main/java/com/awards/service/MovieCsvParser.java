@@ -0,0 +1,249 @@
+package com.awards.service;
+
+import com.awards.entity.Movie;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser do formato {@code year;title;studios;producers;winner} que trabalha diretamente
+ * sobre um buffer de caracteres: os campos são localizados por posição, sem regex nem
+ * cópias intermediárias, e só viram {@code String} no momento de preencher o filme.
+ * Estúdios e produtores repetidos são deduplicados, de forma que milhares de linhas do
+ * mesmo estúdio compartilham a mesma instância.
+ * <p>
+ * A primeira linha (cabeçalho) é ignorada, assim como linhas em branco; uma linha com menos de
+ * quatro colunas é recusada. Não há suporte a aspas: o separador é sempre {@code ;}.
+ * <p>
+ * Cada linha, com a quebra, precisa caber em {@value #MAX_LINE_LENGTH} caracteres. O buffer não
+ * cresce além disso, então a memória usada fica limitada mesmo num arquivo sem quebras de linha.
+ */
+public final class MovieCsvParser implements Closeable {
+
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int MAX_FIELDS = 5;
+    private static final int DICTIONARY_SIZE = 1 << 14;
+    private static final int DICTIONARY_PROBES = 8;
+
+    private final Reader reader;
+    private final int[] fieldStarts = new int[MAX_FIELDS];
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+    private final String[] dictionary = new String[DICTIONARY_SIZE];
+    private final char[] buffer = new char[MAX_LINE_LENGTH];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long lineNumber;
+
+    public MovieCsvParser(InputStream inputStream) {
+        this(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public MovieCsvParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return O próximo filme do arquivo, ou {@code null} ao final da entrada.
+     * @throws CsvFormatException       Se uma linha tiver menos de quatro colunas ou um ano não numérico.
+     * @throws CsvLineTooLongException Se uma linha não couber em {@value #MAX_LINE_LENGTH} caracteres.
+     */
+    public Movie next() throws IOException {
+        int lineEnd;
+        while ((lineEnd = findLineEnd()) >= 0) {
+            int lineStart = position;
+            position = Math.min(lineEnd + 1, limit);
+            lineNumber++;
+
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buffer[contentEnd - 1] == '\r') {
+                contentEnd--;
+            }
+            if (lineNumber == 1) {
+                continue; // Pula o cabeçalho
+            }
+            Movie movie = parseLine(lineStart, contentEnd);
+            if (movie != null) {
+                return movie;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return O número da última linha lida, começando em 1 no cabeçalho.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Movie parseLine(int start, int end) {
+        int fields = 0;
+        int fieldStart = start;
+        for (int i = start; i < end && fields < MAX_FIELDS; i++) {
+            if (buffer[i] == ';') {
+                fieldStarts[fields] = fieldStart;
+                fieldEnds[fields++] = i;
+                fieldStart = i + 1;
+            }
+        }
+        if (fields < MAX_FIELDS) {
+            fieldStarts[fields] = fieldStart;
+            fieldEnds[fields++] = end;
+        }
+        if (fields < 4) {
+            if (isBlank(start, end)) {
+                return null;
+            }
+            throw new CsvFormatException(String.format("Colunas insuficientes na linha %d: esperadas ao menos 4, encontradas %d",
+                    lineNumber, fields));
+        }
+        for (int i = 0; i < fields; i++) {
+            trim(i);
+        }
+
+        Movie movie = new Movie();
+        movie.setYear(parseYear(fieldStarts[0], fieldEnds[0]));
+        movie.setTitle(new String(buffer, fieldStarts[1], fieldEnds[1] - fieldStarts[1]));
+        movie.setStudios(dedupe(fieldStarts[2], fieldEnds[2]));
+        movie.setProducers(dedupe(fieldStarts[3], fieldEnds[3]));
+        movie.setWinner(fields > 4 && isYes(fieldStarts[4], fieldEnds[4]));
+        return movie;
+    }
+
+    private boolean isBlank(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void trim(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+        }
+        fieldStarts[field] = start;
+        fieldEnds[field] = end;
+    }
+
+    private int parseYear(int start, int end) {
+        if (start == end || end - start > 9) {
+            throw invalidYear(start, end);
+        }
+        int year = 0;
+        for (int i = start; i < end; i++) {
+            char c = buffer[i];
+            if (c < '0' || c > '9') {
+                throw invalidYear(start, end);
+            }
+            year = year * 10 + (c - '0');
+        }
+        return year;
+    }
+
+    private CsvFormatException invalidYear(int start, int end) {
+        return new CsvFormatException(String.format("Ano inválido na linha %d: '%s'",
+                lineNumber, new String(buffer, start, end - start)));
+    }
+
+    private boolean isYes(int start, int end) {
+        return end - start == 3
+                && (buffer[start] | 0x20) == 'y'
+                && (buffer[start + 1] | 0x20) == 'e'
+                && (buffer[start + 2] | 0x20) == 's';
+    }
+
+    /**
+     * Retorna uma instância compartilhada para o texto em {@code buffer[start, end)},
+     * criando a {@code String} apenas na primeira ocorrência.
+     */
+    private String dedupe(int start, int end) {
+        int length = end - start;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (DICTIONARY_SIZE - 1);
+        for (int probe = 0; probe < DICTIONARY_PROBES; probe++) {
+            String candidate = dictionary[slot];
+            if (candidate == null) {
+                String value = new String(buffer, start, length);
+                dictionary[slot] = value;
+                return value;
+            }
+            if (candidate.length() == length && regionEquals(candidate, start)) {
+                return candidate;
+            }
+            slot = (slot + 1) & (DICTIONARY_SIZE - 1);
+        }
+        return new String(buffer, start, length);
+    }
+
+    private boolean regionEquals(String candidate, int start) {
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Localiza o fim da linha que começa em {@code position}, lendo mais dados quando
+     * necessário.
+     *
+     * @return O índice do {@code '\n'} (ou de {@code limit} na última linha sem quebra),
+     * ou -1 se não houver mais linhas.
+     */
+    private int findLineEnd() throws IOException {
+        int scan = position;
+        while (true) {
+            for (; scan < limit; scan++) {
+                if (buffer[scan] == '\n') {
+                    return scan;
+                }
+            }
+            if (endOfInput) {
+                return position < limit ? limit : -1;
+            }
+            scan -= position;
+            fill();
+        }
+    }
+
+    private void fill() throws IOException {
+        int remaining = limit - position;
+        if (remaining == buffer.length) {
+            throw new CsvLineTooLongException(String.format("A linha %d excede o limite de %d caracteres",
+                    lineNumber + 1, MAX_LINE_LENGTH));
+        }
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.awards.service;
+
+import com.awards.entity.Movie;
+import com.awards.repository.MovieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Exporta o catálogo de filmes escrevendo diretamente no fluxo de saída, linha a linha,
+ * a partir de um cursor no banco. Cada filme é desanexado do contexto de persistência
+ * depois de escrito, então o uso de memória não cresce com o tamanho do catálogo.
+ */
+@Service
+public class MovieExportService {
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Optional<ExportFormat> of(String name) {
+            return Arrays.stream(values()).filter(format -> format.extension.equalsIgnoreCase(name)).findFirst();
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(MovieExportService.class);
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final byte[] CSV_HEADER = "year;title;studios;producers;winner\n".getBytes(StandardCharsets.UTF_8);
+
+    private final MovieRepository movieRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public MovieExportService(MovieRepository movieRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.movieRepository = movieRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Escreve os filmes selecionados em {@code outputStream}, no formato pedido.
+     * O CSV usa o mesmo layout aceito pela importação.
+     *
+     * @return O número de filmes exportados.
+     */
+    public long export(ExportFormat format, boolean winnersOnly, int fromYear, int toYear, OutputStream outputStream) throws IOException {
+        long startTime = System.currentTimeMillis();
+        BufferedOutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            out.write(CSV_HEADER);
+        }
+        out.flush(); // Envia o primeiro byte sem esperar pela consulta
+
+        Long exported;
+        try {
+            exported = transactionTemplate.execute(status -> {
+                try (Stream<Movie> movies = movieRepository.streamByYearRange(winnersOnly, fromYear, toYear)) {
+                    return write(format, movies.iterator(), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        log.info("Exported {} movies as {} in {} ms", exported, format, System.currentTimeMillis() - startTime);
+        return exported == null ? 0 : exported;
+    }
+
+    private long write(ExportFormat format, Iterator<Movie> movies, OutputStream out) throws IOException {
+        long count = 0;
+        while (movies.hasNext()) {
+            Movie movie = movies.next();
+            if (format == ExportFormat.CSV) {
+                out.write(toCsvLine(movie).getBytes(StandardCharsets.UTF_8));
+            } else {
+                out.write(objectMapper.writeValueAsBytes(movie));
+                out.write('\n');
+            }
+            entityManager.detach(movie);
+            if (++count % FLUSH_INTERVAL == 0) {
+                out.flush();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Os campos são escritos sem aspas. As gravações pela API recusam {@code ;} e quebras de
+     * linha em título, estúdios e produtores, e a importação já os recebe separados por eles,
+     * então cada filme ocupa uma linha que o {@link MovieCsvParser} lê com as mesmas colunas.
+     * O parser, porém, descarta espaços nas pontas de cada campo, e filmes gravados antes dessa
+     * validação podem conter o separador e sair com as colunas deslocadas.
+     */
+    private static String toCsvLine(Movie movie) {
+        return movie.getYear() + ";" + movie.getTitle() + ";" + movie.getStudios() + ";" + movie.getProducers() + ";"
+                + (Boolean.TRUE.equals(movie.getWinner()) ? "yes" : "") + "\n";
+    }
+}
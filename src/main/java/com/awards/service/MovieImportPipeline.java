@@ -0,0 +1,168 @@
+package com.awards.service;
+
+import com.awards.entity.Movie;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline de importação em três estágios (parse → validação → gravação) ligados por filas
+ * limitadas. Quando a gravação fica para trás, as filas enchem e os estágios anteriores
+ * bloqueiam, de modo que no máximo {@code queueCapacity} lotes por fila ficam em memória,
+ * independentemente do tamanho do arquivo.
+ * <p>
+ * O estágio de gravação roda na thread chamadora, para participar da transação dela.
+ */
+final class MovieImportPipeline {
+
+    /** Marcador de fim de entrada, comparado por identidade. */
+    private static final List<Movie> END_OF_INPUT = Collections.unmodifiableList(new ArrayList<>());
+
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Consumer<Movie> validator;
+
+    MovieImportPipeline(int batchSize, int queueCapacity, Consumer<Movie> validator) {
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.validator = validator;
+    }
+
+    /**
+     * Lê o arquivo e entrega os filmes em lotes ao {@code writer}, informando o andamento
+     * a {@code progress}.
+     *
+     * @return O número de filmes entregues ao {@code writer}.
+     * @throws ImportCancelledException Se {@code progress} pedir o cancelamento.
+     */
+    int run(InputStream inputStream, BatchWriter writer, ImportProgress progress) throws IOException, InterruptedException {
+        BlockingQueue<List<Movie>> parsedMovies = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<Movie>> validMovies = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        Thread parseStage = Thread.ofPlatform().name("csv-import-parse").daemon().unstarted(
+                () -> parse(inputStream, parsedMovies, failure, aborted, progress));
+        Thread validateStage = Thread.ofPlatform().name("csv-import-validate").daemon().unstarted(
+                () -> validate(parsedMovies, validMovies, failure));
+        parseStage.start();
+        validateStage.start();
+
+        int written = 0;
+        boolean completed = false;
+        try {
+            List<Movie> batch;
+            while ((batch = validMovies.take()) != END_OF_INPUT) {
+                if (progress.isCancelled()) {
+                    throw new ImportCancelledException();
+                }
+                writer.write(batch);
+                written += batch.size();
+                progress.written(batch.size());
+            }
+            completed = true;
+        } finally {
+            // Uma falha na validação também encerra a gravação normalmente, mas deixa o parse
+            // bloqueado numa leitura que não responde a interrupt; fechar a entrada a libera, e o
+            // parse confere o sinal a cada linha para não enfileirar mais lotes
+            if (!completed || failure.get() != null) {
+                aborted.set(true);
+                closeQuietly(inputStream);
+            }
+            parseStage.interrupt();
+            validateStage.interrupt();
+        }
+        rethrow(failure.get());
+        return written;
+    }
+
+    private void parse(InputStream inputStream, BlockingQueue<List<Movie>> output, AtomicReference<Exception> failure,
+                       AtomicBoolean aborted, ImportProgress progress) {
+        try (MovieCsvParser parser = new MovieCsvParser(inputStream)) {
+            List<Movie> batch = new ArrayList<>(batchSize);
+            Movie movie;
+            while ((movie = parser.next()) != null) {
+                if (aborted.get()) {
+                    return;
+                }
+                batch.add(movie);
+                if (batch.size() == batchSize) {
+                    progress.parsed(batch.size());
+                    output.put(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                progress.parsed(batch.size());
+                output.put(batch);
+            }
+            output.put(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // O estágio seguinte foi abortado
+        } catch (Exception e) {
+            if (!aborted.get()) {
+                failure.compareAndSet(null, e);
+                signalEnd(output, END_OF_INPUT);
+            }
+        }
+    }
+
+    private void validate(BlockingQueue<List<Movie>> input, BlockingQueue<List<Movie>> output,
+                          AtomicReference<Exception> failure) {
+        try {
+            List<Movie> batch;
+            while ((batch = input.take()) != END_OF_INPUT) {
+                batch.forEach(validator);
+                output.put(batch);
+            }
+            output.put(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // O estágio seguinte foi abortado
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+            signalEnd(output, END_OF_INPUT);
+        }
+    }
+
+    private static <T> void signalEnd(BlockingQueue<List<T>> queue, List<T> marker) {
+        try {
+            queue.put(marker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            // A importação já falhou; o erro de gravação é o que importa
+        }
+    }
+
+    private static void rethrow(Exception failure) throws IOException {
+        if (failure == null) {
+            return;
+        }
+        if (failure instanceof IOException e) {
+            throw e;
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        throw new IOException("Falha ao processar o arquivo CSV.", failure);
+    }
+
+    @FunctionalInterface
+    interface BatchWriter {
+        void write(List<Movie> batch);
+    }
+}
@@ -1,35 +1,419 @@
 package com.awards.service;
 
+import com.awards.config.CacheConfig;
+import com.awards.dto.BulkItemResult;
+import com.awards.dto.BulkResult;
+import com.awards.dto.MovieCursorPage;
 import com.awards.entity.Movie;
+import com.awards.entity.Producer;
+import com.awards.entity.Studio;
+import com.awards.event.MoviesChangedEvent;
+import com.awards.repository.MovieBatchRepository;
+import com.awards.repository.MovieKey;
 import com.awards.repository.MovieRepository;
+import com.awards.repository.MovieSummary;
+import com.awards.repository.ProducerRepository;
+import com.awards.repository.StudioRepository;
+import com.awards.util.Names;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MovieService {
 
+    private static final Map<String, Function<Movie, Object>> MOVIE_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Function<MovieSummary, Object>> SUMMARY_FIELDS = new LinkedHashMap<>();
+    private static final String SEPARATOR_ERROR = "Título, estúdios e produtores não podem conter ';' nem quebras de linha.";
+
+    static {
+        MOVIE_FIELDS.put("id", Movie::getId);
+        MOVIE_FIELDS.put("year", Movie::getYear);
+        MOVIE_FIELDS.put("title", Movie::getTitle);
+        MOVIE_FIELDS.put("studios", Movie::getStudios);
+        MOVIE_FIELDS.put("producers", Movie::getProducers);
+        MOVIE_FIELDS.put("winner", Movie::getWinner);
+
+        SUMMARY_FIELDS.put("id", MovieSummary::getId);
+        SUMMARY_FIELDS.put("year", MovieSummary::getYear);
+        SUMMARY_FIELDS.put("title", MovieSummary::getTitle);
+        SUMMARY_FIELDS.put("winner", MovieSummary::getWinner);
+    }
+
     private final MovieRepository movieRepository;
+    private final MovieBatchRepository movieBatchRepository;
+    private final ProducerRepository producerRepository;
+    private final StudioRepository studioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache movieCache;
 
-    public MovieService(MovieRepository movieRepository) {
+    public MovieService(MovieRepository movieRepository, MovieBatchRepository movieBatchRepository,
+                        ProducerRepository producerRepository, StudioRepository studioRepository,
+                        ApplicationEventPublisher eventPublisher, CacheManager cacheManager) {
         this.movieRepository = movieRepository;
+        this.movieBatchRepository = movieBatchRepository;
+        this.producerRepository = producerRepository;
+        this.studioRepository = studioRepository;
+        this.eventPublisher = eventPublisher;
+        this.movieCache = cacheManager.getCache(CacheConfig.MOVIES);
     }
 
     public Page<Movie> findAllMovies(Pageable pageable) {
         return movieRepository.findAll(pageable);
     }
     
+    /**
+     * Paginação por cursor: retorna os filmes com ID maior que {@code after}, em ordem de ID.
+     * Não há consulta de contagem nem OFFSET, então o custo não cresce com a profundidade.
+     * Quando os campos pedidos não incluem estúdios nem produtores, a consulta usa a
+     * projeção {@link MovieSummary} e não lê essas colunas.
+     *
+     * @param fields Campos a incluir em cada item; vazio para todos.
+     * @throws IllegalArgumentException Se algum campo não existir.
+     */
+    public MovieCursorPage findMoviesAfter(long after, int size, List<String> fields) {
+        List<String> selectedFields = fields == null || fields.isEmpty() ? List.copyOf(MOVIE_FIELDS.keySet()) : fields;
+        for (String field : selectedFields) {
+            if (!MOVIE_FIELDS.containsKey(field)) {
+                throw new IllegalArgumentException("Campo desconhecido: " + field);
+            }
+        }
+
+        Pageable pageable = PageRequest.of(0, size);
+        if (SUMMARY_FIELDS.keySet().containsAll(selectedFields)) {
+            Slice<MovieSummary> slice = movieRepository.findByIdGreaterThanOrderByIdAsc(after, pageable, MovieSummary.class);
+            return toCursorPage(slice, selectedFields, SUMMARY_FIELDS, MovieSummary::getId);
+        }
+        Slice<Movie> slice = movieRepository.findByIdGreaterThanOrderByIdAsc(after, pageable, Movie.class);
+        return toCursorPage(slice, selectedFields, MOVIE_FIELDS, Movie::getId);
+    }
+
+    private static <T> MovieCursorPage toCursorPage(Slice<T> slice, List<String> fields,
+                                                    Map<String, Function<T, Object>> accessors, Function<T, Long> idOf) {
+        List<Map<String, Object>> content = new ArrayList<>(slice.getNumberOfElements());
+        for (T movie : slice) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                values.put(field, accessors.get(field).apply(movie));
+            }
+            content.add(values);
+        }
+        Long nextCursor = slice.hasNext() ? idOf.apply(slice.getContent().get(slice.getNumberOfElements() - 1)) : null;
+        return new MovieCursorPage(content, content.size(), slice.hasNext(), nextCursor);
+    }
+
+    /**
+     * Busca um filme pelo ID, passando antes pelo cache {@link CacheConfig#MOVIES}. IDs
+     * inexistentes não são guardados. O valor em cache é uma cópia sem as associações
+     * com produtores e estúdios, que não são serializadas e não poderiam ser carregadas
+     * fora da sessão em que o filme foi lido.
+     * <p>
+     * As alterações de filmes não usam este método: elas leem a entidade gerenciada
+     * diretamente do repositório.
+     */
+    @Cacheable(cacheNames = CacheConfig.MOVIES, unless = "#result == null")
     public Optional<Movie> findMovieById(Long id) {
-        return movieRepository.findById(id);
+        return movieRepository.findById(id)
+                .map(movie -> movie.toBuilder().producerEntities(null).studioEntities(null).build());
     }
 
+    /**
+     * @throws IllegalArgumentException Se título, estúdios ou produtores contiverem {@code ;} ou quebras de linha.
+     */
+    @Transactional
     public Movie saveMovie(Movie movie) {
-        return movieRepository.save(movie);
+        requireNoSeparator(movie);
+        Optional<Movie> previous = movie.getId() == null
+                ? Optional.empty()
+                : movieRepository.findById(movie.getId()).map(existing -> existing.toBuilder().build());
+        linkNames(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        eventPublisher.publishEvent(previous
+                .map(existing -> MoviesChangedEvent.replaced(List.of(existing), List.of(savedMovie)))
+                .orElseGet(() -> MoviesChangedEvent.added(List.of(savedMovie))));
+        return savedMovie;
+    }
+
+    /**
+     * Substitui todos os dados de um filme existente, preservando o estado anterior
+     * para que os índices derivados possam ser corrigidos incrementalmente.
+     *
+     * @return O filme atualizado, ou vazio se não existir filme com o ID informado.
+     * @throws IllegalArgumentException Se título, estúdios ou produtores contiverem {@code ;} ou quebras de linha.
+     */
+    @Transactional
+    public Optional<Movie> updateMovie(Long id, Movie movieDetails) {
+        requireNoSeparator(movieDetails);
+        return movieRepository.findById(id)
+                .map(movie -> {
+                    Movie previous = movie.toBuilder().build();
+                    movie.setTitle(movieDetails.getTitle());
+                    movie.setStudios(movieDetails.getStudios());
+                    movie.setProducers(movieDetails.getProducers());
+                    movie.setYear(movieDetails.getYear());
+                    movie.setWinner(movieDetails.getWinner());
+                    linkNames(movie);
+                    Movie savedMovie = movieRepository.save(movie);
+                    eventPublisher.publishEvent(MoviesChangedEvent.replaced(List.of(previous), List.of(savedMovie)));
+                    return savedMovie;
+                });
+    }
+
+    /**
+     * @return {@code false} se não existir filme com o ID informado.
+     */
+    @Transactional
+    public boolean deleteMovie(Long id) {
+        Optional<Movie> movie = movieRepository.findById(id);
+        movie.ifPresent(existing -> {
+            movieRepository.delete(existing);
+            eventPublisher.publishEvent(MoviesChangedEvent.removed(List.of(existing)));
+        });
+        return movie.isPresent();
+    }
+
+    /**
+     * Cria vários filmes em uma única transação, com um lote JDBC para os filmes e outro
+     * para cada tabela de junção. Itens inválidos ou cujo ano e título já existam (no banco
+     * ou em um item anterior da requisição) são recusados individualmente; os demais são gravados.
+     *
+     * @return Um resultado por item, na ordem recebida.
+     */
+    @Transactional
+    public BulkResult createMovies(List<Movie> movies) {
+        BulkItemResult[] results = new BulkItemResult[movies.size()];
+        List<Movie> candidates = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            String error = validationError(movies.get(i));
+            if (error != null) {
+                results[i] = new BulkItemResult(i, null, BulkItemResult.Status.INVALID, error);
+            } else {
+                candidates.add(movies.get(i));
+            }
+        }
+
+        Map<MovieKey, Movie> existing = movieBatchRepository.findByKeys(candidates);
+        Set<MovieKey> requested = new HashSet<>();
+        List<Movie> toInsert = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            MovieKey key = MovieKey.of(movie);
+            if (existing.containsKey(key) || !requested.add(key)) {
+                results[i] = new BulkItemResult(i, null, BulkItemResult.Status.CONFLICT, "Já existe um filme com o mesmo ano e título.");
+                continue;
+            }
+            movie.setId(null);
+            toInsert.add(movie);
+            positions.add(i);
+        }
+
+        movieBatchRepository.insertAll(toInsert);
+        for (int i = 0; i < toInsert.size(); i++) {
+            results[positions.get(i)] = new BulkItemResult(positions.get(i), toInsert.get(i).getId(), BulkItemResult.Status.CREATED, null);
+        }
+        if (!toInsert.isEmpty()) {
+            eventPublisher.publishEvent(MoviesChangedEvent.added(toInsert));
+        }
+        return BulkResult.of(List.of(results), toInsert.size());
+    }
+
+    /**
+     * Substitui os dados de vários filmes, identificados pelo ID, em uma única transação: o estado
+     * anterior é lido com um {@code SELECT ... WHERE id IN}, as linhas são gravadas em um lote de
+     * {@code UPDATE} e as junções dos filmes cujos nomes mudaram são regravadas com
+     * {@code DELETE ... WHERE movie_id IN}. Itens sem ID, repetidos, inexistentes, inválidos ou
+     * que colidam com o ano e título de outro filme são recusados individualmente.
+     *
+     * @return Um resultado por item, na ordem recebida.
+     */
+    @Transactional
+    public BulkResult updateMovies(List<Movie> movies) {
+        BulkItemResult[] results = new BulkItemResult[movies.size()];
+        Set<Long> requestedIds = new HashSet<>();
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            Long id = movie == null ? null : movie.getId();
+            String error = movie != null && id == null ? "ID é obrigatório." : validationError(movie);
+            if (error == null && !requestedIds.add(id)) {
+                error = "ID repetido na requisição.";
+            }
+            if (error != null) {
+                results[i] = new BulkItemResult(i, id, BulkItemResult.Status.INVALID, error);
+            }
+        }
+
+        Map<Long, Movie> stored = new HashMap<>();
+        movieBatchRepository.findAllById(requestedIds).forEach(movie -> stored.put(movie.getId(), movie));
+        List<Movie> candidates = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            if (results[i] == null) {
+                if (stored.containsKey(movies.get(i).getId())) {
+                    candidates.add(movies.get(i));
+                } else {
+                    results[i] = new BulkItemResult(i, movies.get(i).getId(), BulkItemResult.Status.NOT_FOUND, null);
+                }
+            }
+        }
+
+        Map<MovieKey, Movie> existing = movieBatchRepository.findByKeys(candidates);
+        Set<MovieKey> requestedKeys = new HashSet<>();
+        List<Movie> toUpdate = new ArrayList<>();
+        List<Movie> previous = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            MovieKey key = MovieKey.of(movie);
+            Movie owner = existing.get(key);
+            if ((owner != null && !owner.getId().equals(movie.getId())) || !requestedKeys.add(key)) {
+                results[i] = new BulkItemResult(i, movie.getId(), BulkItemResult.Status.CONFLICT, "Já existe outro filme com o mesmo ano e título.");
+                continue;
+            }
+            toUpdate.add(movie);
+            previous.add(stored.get(movie.getId()));
+            results[i] = new BulkItemResult(i, movie.getId(), BulkItemResult.Status.UPDATED, null);
+        }
+
+        movieBatchRepository.updateAll(toUpdate, previous);
+        if (!toUpdate.isEmpty()) {
+            eventPublisher.publishEvent(MoviesChangedEvent.replaced(previous, toUpdate));
+        }
+        return BulkResult.of(List.of(results), toUpdate.size());
+    }
+
+    /**
+     * Remove vários filmes em uma única transação, com um {@code DELETE ... WHERE id IN} por
+     * tabela (junções primeiro). IDs inexistentes são informados como não encontrados.
+     *
+     * @return Um resultado por item, na ordem recebida.
+     */
+    @Transactional
+    public BulkResult deleteMovies(List<Long> ids) {
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        Set<Long> requestedIds = new LinkedHashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null || !requestedIds.add(id)) {
+                results[i] = new BulkItemResult(i, id, BulkItemResult.Status.INVALID,
+                        id == null ? "ID é obrigatório." : "ID repetido na requisição.");
+            }
+        }
+
+        List<Movie> deleted = movieBatchRepository.deleteAll(requestedIds);
+        Set<Long> deletedIds = deleted.stream().map(Movie::getId).collect(Collectors.toSet());
+        for (int i = 0; i < ids.size(); i++) {
+            if (results[i] == null) {
+                results[i] = new BulkItemResult(i, ids.get(i),
+                        deletedIds.contains(ids.get(i)) ? BulkItemResult.Status.DELETED : BulkItemResult.Status.NOT_FOUND, null);
+            }
+        }
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(MoviesChangedEvent.removed(deleted));
+        }
+        return BulkResult.of(List.of(results), deleted.size());
+    }
+
+    /**
+     * Remove do cache os filmes alterados, após o commit. Em recargas completas, em que
+     * os filmes não são listados, o cache inteiro é descartado.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void evictChangedMovies(MoviesChangedEvent event) {
+        if (event.isReload()) {
+            movieCache.invalidate();
+            return;
+        }
+        // evictIfPresent é imediato mesmo no cache transacional, inclusive dentro de afterCommit
+        event.getRemoved().forEach(movie -> movieCache.evictIfPresent(movie.getId()));
+        event.getAdded().forEach(movie -> movieCache.evictIfPresent(movie.getId()));
+    }
+
+    /**
+     * Aplica as mesmas restrições da entidade {@link Movie} a um item das operações em lote.
+     *
+     * @return A mensagem de erro, ou {@code null} se o filme for válido.
+     */
+    private static String validationError(Movie movie) {
+        if (movie == null) {
+            return "Filme ausente.";
+        }
+        if (movie.getYear() == null || isBlank(movie.getTitle()) || isBlank(movie.getStudios()) || isBlank(movie.getProducers())) {
+            return "Ano, título, estúdios e produtores são obrigatórios.";
+        }
+        if (containsSeparator(movie)) {
+            return SEPARATOR_ERROR;
+        }
+        return null;
+    }
+
+    /**
+     * O CSV de importação e exportação não tem aspas: {@code ;} separa as colunas e CR ou LF
+     * encerram a linha. Um filme gravado com eles seria exportado em colunas deslocadas ou
+     * partido em duas linhas.
+     */
+    private static boolean containsSeparator(Movie movie) {
+        return Stream.of(movie.getTitle(), movie.getStudios(), movie.getProducers())
+                .anyMatch(value -> value != null && value.chars().anyMatch(c -> c == ';' || c == '\r' || c == '\n'));
+    }
+
+    private static void requireNoSeparator(Movie movie) {
+        if (containsSeparator(movie)) {
+            throw new IllegalArgumentException(SEPARATOR_ERROR);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Preenche os produtores e estúdios normalizados a partir dos campos de texto do filme,
+     * criando os nomes que ainda não existem.
+     */
+    private void linkNames(Movie movie) {
+        movie.setProducerEntities(resolve(Names.split(movie.getProducers()),
+                producerRepository::findByNameIn, Producer::getName, producerRepository::merge));
+        movie.setStudioEntities(resolve(Names.split(movie.getStudios()),
+                studioRepository::findByNameIn, Studio::getName, studioRepository::merge));
     }
 
-    public void deleteMovie(Long id) {
-        movieRepository.deleteById(id);
+    private static <T> Set<T> resolve(List<String> names, Function<Collection<String>, List<T>> finder,
+                                      Function<T, String> nameOf, Consumer<String> creator) {
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+        Map<String, T> existing = new HashMap<>();
+        finder.apply(names).forEach(entity -> existing.put(nameOf.apply(entity), entity));
+        List<String> missing = names.stream().filter(name -> !existing.containsKey(name)).distinct().toList();
+        if (!missing.isEmpty()) {
+            missing.forEach(creator);
+            finder.apply(missing).forEach(entity -> existing.put(nameOf.apply(entity), entity));
+        }
+        Set<T> resolved = new HashSet<>();
+        for (String name : names) {
+            resolved.add(existing.get(name));
+        }
+        return resolved;
     }
-}
\ No newline at end of file
+}
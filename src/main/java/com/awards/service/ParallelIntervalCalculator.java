@@ -0,0 +1,198 @@
+package com.awards.service;
+
+import com.awards.dto.AwardIntervalResponse;
+import com.awards.dto.ProducerInterval;
+import com.awards.index.ProducerIntervalIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calcula os intervalos entre vitórias dividindo os produtores em fatias processadas em
+ * paralelo num {@link ForkJoinPool}. Cada fatia trabalha com arrays de {@code int}, guarda
+ * apenas os empates no menor e no maior intervalo que encontrou e as fatias são combinadas
+ * no final, sem materializar a lista de todos os intervalos.
+ */
+@Component
+public class ParallelIntervalCalculator {
+
+    /** Quantidade de produtores abaixo da qual uma fatia é processada sem nova divisão. */
+    private static final int SHARD_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+
+    public ParallelIntervalCalculator(@Value("${awards.intervals.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param producers Nomes dos produtores.
+     * @param winYears  Anos de vitória de cada produtor, na mesma posição de {@code producers}.
+     *                  Os arrays são ordenados no próprio lugar.
+     */
+    public AwardIntervalResponse calculate(String[] producers, int[][] winYears) {
+        Shard result = pool.invoke(new ShardTask(winYears, 0, producers.length));
+        if (result.isEmpty()) {
+            return new AwardIntervalResponse(Collections.emptyList(), Collections.emptyList());
+        }
+        return new AwardIntervalResponse(toIntervals(producers, result.min, result.minTies),
+                toIntervals(producers, result.max, result.maxTies));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static List<ProducerInterval> toIntervals(String[] producers, int length, IntTriples ties) {
+        List<ProducerInterval> intervals = new ArrayList<>(ties.size());
+        for (int i = 0; i < ties.size(); i++) {
+            intervals.add(new ProducerInterval(producers[ties.first(i)], length, ties.second(i), ties.third(i)));
+        }
+        // As fatias terminam em ordem arbitrária; ordena como os demais motores
+        intervals.sort(ProducerIntervalIndex.RESPONSE_ORDER);
+        return intervals;
+    }
+
+    private static final class ShardTask extends RecursiveTask<Shard> {
+        private final int[][] winYears;
+        private final int from;
+        private final int to;
+
+        ShardTask(int[][] winYears, int from, int to) {
+            this.winYears = winYears;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Shard compute() {
+            if (to - from <= SHARD_SIZE) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            ShardTask left = new ShardTask(winYears, from, middle);
+            left.fork();
+            Shard right = new ShardTask(winYears, middle, to).compute();
+            return left.join().merge(right);
+        }
+
+        private Shard scan() {
+            Shard shard = new Shard();
+            for (int producer = from; producer < to; producer++) {
+                int[] years = winYears[producer];
+                if (years.length < 2) {
+                    continue;
+                }
+                Arrays.sort(years);
+                for (int i = 1; i < years.length; i++) {
+                    shard.offer(producer, years[i - 1], years[i]);
+                }
+            }
+            return shard;
+        }
+    }
+
+    /**
+     * Menor e maior intervalo de uma fatia, com todos os empates em cada extremo.
+     */
+    private static final class Shard {
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        private IntTriples minTies = new IntTriples();
+        private IntTriples maxTies = new IntTriples();
+
+        boolean isEmpty() {
+            return minTies.size() == 0;
+        }
+
+        void offer(int producer, int previousWin, int followingWin) {
+            int length = followingWin - previousWin;
+            if (length < min) {
+                min = length;
+                minTies.clear();
+            }
+            if (length == min) {
+                minTies.add(producer, previousWin, followingWin);
+            }
+            if (length > max) {
+                max = length;
+                maxTies.clear();
+            }
+            if (length == max) {
+                maxTies.add(producer, previousWin, followingWin);
+            }
+        }
+
+        Shard merge(Shard other) {
+            if (other.min < min) {
+                min = other.min;
+                minTies = other.minTies;
+            } else if (other.min == min) {
+                minTies.addAll(other.minTies);
+            }
+            if (other.max > max) {
+                max = other.max;
+                maxTies = other.maxTies;
+            } else if (other.max == max) {
+                maxTies.addAll(other.maxTies);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Lista expansível de triplas (produtor, vitória anterior, vitória seguinte) sobre um único {@code int[]}.
+     */
+    private static final class IntTriples {
+        private int[] values = new int[12];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int first(int index) {
+            return values[index * 3];
+        }
+
+        int second(int index) {
+            return values[index * 3 + 1];
+        }
+
+        int third(int index) {
+            return values[index * 3 + 2];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(int first, int second, int third) {
+            ensureCapacity(size + 1);
+            int offset = size++ * 3;
+            values[offset] = first;
+            values[offset + 1] = second;
+            values[offset + 2] = third;
+        }
+
+        void addAll(IntTriples other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.values, 0, values, size * 3, other.size * 3);
+            size += other.size;
+        }
+
+        private void ensureCapacity(int triples) {
+            if (triples * 3 > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, triples * 3));
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.awards.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas simultâneas com a mesma chave em uma única execução: a primeira chamada
+ * calcula o resultado e as que chegam enquanto ela roda aguardam e recebem o mesmo valor (ou
+ * a mesma exceção). Nada é guardado depois que a execução termina.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return await(running);
+        }
+
+        executions.increment();
+        try {
+            V value = computation.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return Quantas vezes a computação foi de fato executada.
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * @return Quantas chamadas reaproveitaram uma execução em andamento.
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return Chamadas aguardando uma execução em andamento neste momento.
+     */
+    public int waiting() {
+        return waiting.get();
+    }
+
+    private V await(CompletableFuture<V> running) {
+        coalesced.increment();
+        waiting.incrementAndGet();
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.awards.snapshot;
+
+import com.awards.entity.Movie;
+import com.awards.util.Names;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Cópia binária e colunar do catálogo de filmes, pensada para ser carregada em milissegundos.
+ * <p>
+ * Layout (little-endian):
+ * <pre>
+ * cabeçalho  magic (int) | versão (short) | reservado (short) | linhas (int)
+ *            estúdios distintos (int) | produtores distintos (int) | tamanho do corpo (long) | CRC32 do corpo (long)
+ * corpo      anos: int[linhas]
+ *            vencedores: bits em long[(linhas + 63) / 64]
+ *            códigos de estúdios: int[linhas] | códigos de produtores: int[linhas]
+ *            dicionário de estúdios: offsets int[n + 1] + UTF-8
+ *            dicionário de produtores: offsets int[n + 1] + UTF-8
+ *            títulos: offsets int[linhas + 1] + UTF-8
+ * </pre>
+ * Os campos {@code studios} e {@code producers} são gravados como códigos para dicionários de
+ * valores distintos, já que muitos filmes repetem os mesmos estúdios e produtores. O arquivo é
+ * lido por {@link FileChannel#map}: as colunas numéricas são acessadas direto do mapeamento e os
+ * títulos só são decodificados quando os filmes são materializados.
+ */
+public final class MovieSnapshot {
+
+    static final int MAGIC = 0x53445741; // "AWDS" em little-endian
+    static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 36;
+
+    private final int rows;
+    private final IntBuffer years;
+    private final LongBuffer winners;
+    private final IntBuffer studioCodes;
+    private final IntBuffer producerCodes;
+    private final String[] studios;
+    private final String[] producers;
+    private final IntBuffer titleOffsets;
+    private final ByteBuffer titles;
+
+    private MovieSnapshot(int rows, IntBuffer years, LongBuffer winners, IntBuffer studioCodes, IntBuffer producerCodes,
+                          String[] studios, String[] producers, IntBuffer titleOffsets, ByteBuffer titles) {
+        this.rows = rows;
+        this.years = years;
+        this.winners = winners;
+        this.studioCodes = studioCodes;
+        this.producerCodes = producerCodes;
+        this.studios = studios;
+        this.producers = producers;
+        this.titleOffsets = titleOffsets;
+        this.titles = titles;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Anos de vitória de cada produtor, no formato aceito por
+     * {@link com.awards.index.ProducerIntervalIndex#rebuild(Map)}. Só percorre as colunas de
+     * anos, vencedores e produtores; cada valor do dicionário é separado em nomes uma única vez.
+     */
+    public Map<String, List<Integer>> winYearsByProducer() {
+        List<List<String>> namesByCode = splitDictionary(producers);
+        Map<String, List<Integer>> winYears = new HashMap<>();
+        for (int word = 0; word < winners.limit(); word++) {
+            long bits = winners.get(word);
+            while (bits != 0) {
+                int row = word * 64 + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int year = years.get(row);
+                for (String producer : namesByCode.get(producerCodes.get(row))) {
+                    winYears.computeIfAbsent(producer, k -> new ArrayList<>()).add(year);
+                }
+            }
+        }
+        return winYears;
+    }
+
+    /**
+     * Anos de vitória de cada produtor por estúdio, no formato aceito por
+     * {@link com.awards.index.ProducerIntervalIndex#rebuild(Map, Map)}.
+     */
+    public Map<String, Map<String, List<Integer>>> winYearsByStudio() {
+        List<List<String>> producerNamesByCode = splitDictionary(producers);
+        List<List<String>> studioNamesByCode = splitDictionary(studios);
+        Map<String, Map<String, List<Integer>>> winYears = new HashMap<>();
+        for (int word = 0; word < winners.limit(); word++) {
+            long bits = winners.get(word);
+            while (bits != 0) {
+                int row = word * 64 + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int year = years.get(row);
+                for (String studio : studioNamesByCode.get(studioCodes.get(row))) {
+                    Map<String, List<Integer>> studioWinYears = winYears.computeIfAbsent(studio, k -> new HashMap<>());
+                    for (String producer : producerNamesByCode.get(producerCodes.get(row))) {
+                        studioWinYears.computeIfAbsent(producer, k -> new ArrayList<>()).add(year);
+                    }
+                }
+            }
+        }
+        return winYears;
+    }
+
+    /**
+     * Materializa os filmes das linhas {@code [from, to)} como entidades novas, sem ID.
+     */
+    public List<Movie> movies(int from, int to) {
+        List<Movie> movies = new ArrayList<>(to - from);
+        for (int row = from; row < to; row++) {
+            Movie movie = new Movie();
+            movie.setYear(years.get(row));
+            movie.setTitle(title(row));
+            movie.setStudios(studios[studioCodes.get(row)]);
+            movie.setProducers(producers[producerCodes.get(row)]);
+            movie.setWinner((winners.get(row >>> 6) & (1L << row)) != 0);
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+    private String title(int row) {
+        int start = titleOffsets.get(row);
+        int length = titleOffsets.get(row + 1) - start;
+        byte[] bytes = new byte[length];
+        titles.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Mapeia o arquivo e valida o formato e o checksum. O checksum cobre só o corpo: as contagens
+     * do cabeçalho, os offsets e os códigos de dicionário são conferidos contra o tamanho de cada
+     * seção, de modo que um arquivo danificado nunca causa um acesso fora dos limites depois.
+     *
+     * @throws SnapshotFormatException Se o arquivo não for um snapshot válido desta versão.
+     */
+    public static MovieSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new SnapshotFormatException("Arquivo menor que o cabeçalho: " + file);
+            }
+            if (channel.size() > Integer.MAX_VALUE) {
+                // Um único mapeamento (e os offsets int do formato) não passam de 2 GB
+                throw new SnapshotFormatException("Snapshot de 2 GB ou mais não é suportado: " + file);
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC) {
+                throw new SnapshotFormatException("Arquivo não é um snapshot de filmes: " + file);
+            }
+            short version = buffer.getShort(4);
+            if (version != FORMAT_VERSION) {
+                throw new SnapshotFormatException(String.format("Versão %d do snapshot não suportada (esperada %d).", version, FORMAT_VERSION));
+            }
+            int rows = buffer.getInt(8);
+            int studioCount = buffer.getInt(12);
+            int producerCount = buffer.getInt(16);
+            long bodyLength = buffer.getLong(20);
+            long checksum = buffer.getLong(28);
+            if (bodyLength != channel.size() - HEADER_SIZE) {
+                throw new SnapshotFormatException("Snapshot truncado: " + file);
+            }
+            if (rows < 0 || studioCount < 0 || producerCount < 0) {
+                throw new SnapshotFormatException("Cabeçalho do snapshot com contagens negativas: " + file);
+            }
+
+            ByteBuffer body = slice(buffer, HEADER_SIZE, (int) bodyLength);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != checksum) {
+                throw new SnapshotFormatException("Checksum do snapshot não confere: " + file);
+            }
+
+            Reader reader = new Reader(body);
+            IntBuffer years = reader.ints(rows);
+            LongBuffer winners = reader.longs((rows + 63) / 64);
+            IntBuffer studioCodes = reader.ints(rows);
+            IntBuffer producerCodes = reader.ints(rows);
+            String[] studios = reader.dictionary(studioCount);
+            String[] producers = reader.dictionary(producerCount);
+            IntBuffer titleOffsets = reader.offsets(rows);
+            ByteBuffer titles = reader.bytes(titleOffsets.get(rows));
+            if (reader.remaining() != 0) {
+                throw new SnapshotFormatException("Seções do snapshot não ocupam o corpo inteiro: " + file);
+            }
+            checkCodes(studioCodes, studios.length, "estúdio");
+            checkCodes(producerCodes, producers.length, "produtor");
+            return new MovieSnapshot(rows, years, winners, studioCodes, producerCodes, studios, producers, titleOffsets, titles);
+        }
+    }
+
+    private static List<List<String>> splitDictionary(String[] dictionary) {
+        List<List<String>> names = new ArrayList<>(dictionary.length);
+        for (String value : dictionary) {
+            names.add(Names.split(value));
+        }
+        return names;
+    }
+
+    private static void checkCodes(IntBuffer codes, int dictionarySize, String kind) throws SnapshotFormatException {
+        for (int row = 0; row < codes.limit(); row++) {
+            int code = codes.get(row);
+            if (code < 0 || code >= dictionarySize) {
+                throw new SnapshotFormatException(String.format("Código de %s %d fora do dicionário na linha %d.", kind, code, row));
+            }
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        return buffer.slice(position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Lê as seções do corpo em sequência.
+     */
+    private static final class Reader {
+        private final ByteBuffer body;
+        private int position;
+
+        Reader(ByteBuffer body) {
+            this.body = body;
+        }
+
+        IntBuffer ints(int count) throws SnapshotFormatException {
+            return bytes((long) count * Integer.BYTES).asIntBuffer();
+        }
+
+        LongBuffer longs(int count) throws SnapshotFormatException {
+            return bytes((long) count * Long.BYTES).asLongBuffer();
+        }
+
+        ByteBuffer bytes(long length) throws SnapshotFormatException {
+            if (length < 0 || length > remaining()) {
+                throw new SnapshotFormatException(String.format(
+                        "Seção de %d bytes excede o corpo do snapshot (restam %d).", length, remaining()));
+            }
+            ByteBuffer section = slice(body, position, (int) length);
+            position += (int) length;
+            return section;
+        }
+
+        /**
+         * Lê {@code count + 1} offsets, que devem começar em zero e nunca diminuir.
+         */
+        IntBuffer offsets(int count) throws SnapshotFormatException {
+            IntBuffer offsets = ints(count + 1);
+            int previous = 0;
+            for (int i = 0; i <= count; i++) {
+                int offset = offsets.get(i);
+                if (i == 0 ? offset != 0 : offset < previous) {
+                    throw new SnapshotFormatException("Offsets do snapshot fora de ordem na posição " + i + ".");
+                }
+                previous = offset;
+            }
+            return offsets;
+        }
+
+        int remaining() {
+            return body.limit() - position;
+        }
+
+        String[] dictionary(int count) throws SnapshotFormatException {
+            IntBuffer offsets = offsets(count);
+            ByteBuffer text = bytes(offsets.get(count));
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[offsets.get(i + 1) - offsets.get(i)];
+                text.get(offsets.get(i), bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Acumula os filmes em colunas e grava o snapshot.
+     */
+    public static final class Writer {
+        private int rows;
+        private int[] years = new int[1024];
+        private long[] winners = new long[16];
+        private int[] studioCodes = new int[1024];
+        private int[] producerCodes = new int[1024];
+        private final Map<String, Integer> studios = new LinkedHashMap<>();
+        private final Map<String, Integer> producers = new LinkedHashMap<>();
+        private int[] titleOffsets = new int[1025];
+        private final ByteArrayOutputStream titles = new ByteArrayOutputStream();
+
+        public void add(Movie movie) {
+            if (rows == years.length) {
+                years = Arrays.copyOf(years, rows * 2);
+                studioCodes = Arrays.copyOf(studioCodes, rows * 2);
+                producerCodes = Arrays.copyOf(producerCodes, rows * 2);
+                titleOffsets = Arrays.copyOf(titleOffsets, rows * 2 + 1);
+            }
+            if (rows >>> 6 == winners.length) {
+                winners = Arrays.copyOf(winners, winners.length * 2);
+            }
+            years[rows] = movie.getYear();
+            if (Boolean.TRUE.equals(movie.getWinner())) {
+                winners[rows >>> 6] |= 1L << rows;
+            }
+            studioCodes[rows] = studios.computeIfAbsent(movie.getStudios(), k -> studios.size());
+            producerCodes[rows] = producers.computeIfAbsent(movie.getProducers(), k -> producers.size());
+            titles.writeBytes(movie.getTitle().getBytes(StandardCharsets.UTF_8));
+            titleOffsets[++rows] = titles.size();
+        }
+
+        public int size() {
+            return rows;
+        }
+
+        /**
+         * Grava num arquivo temporário ao lado do destino e o move para o lugar no final, para
+         * que um snapshot incompleto nunca substitua o anterior.
+         */
+        public void write(Path file) throws IOException {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                    Output output = new Output(channel, HEADER_SIZE);
+                    output.ints(years, rows);
+                    output.longs(winners, (rows + 63) / 64);
+                    output.ints(studioCodes, rows);
+                    output.ints(producerCodes, rows);
+                    output.dictionary(studios.keySet());
+                    output.dictionary(producers.keySet());
+                    output.ints(titleOffsets, rows + 1);
+                    output.bytes(titles.toByteArray());
+                    output.flush();
+
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                    header.putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) 0).putInt(rows)
+                            .putInt(studios.size()).putInt(producers.size())
+                            .putLong(output.written()).putLong(output.checksum())
+                            .flip();
+                    channel.write(header, 0);
+                    channel.force(true);
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * Escrita bufferizada do corpo, calculando o CRC32 do que é gravado.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        private long position;
+        private long written;
+
+        Output(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void ints(int[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                ensure(Integer.BYTES);
+                buffer.putInt(values[i]);
+            }
+        }
+
+        void longs(long[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                ensure(Long.BYTES);
+                buffer.putLong(i < values.length ? values[i] : 0L);
+            }
+        }
+
+        void bytes(byte[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), values.length - offset);
+                buffer.put(values, offset, length);
+                offset += length;
+            }
+        }
+
+        void dictionary(Collection<String> values) throws IOException {
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            int[] offsets = new int[values.size() + 1];
+            int i = 0;
+            for (String value : values) {
+                text.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+                offsets[++i] = text.size();
+            }
+            ints(offsets, offsets.length);
+            bytes(text.toByteArray());
+        }
+
+        long written() {
+            return written;
+        }
+
+        long checksum() {
+            return crc.getValue();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                int count = channel.write(buffer, position);
+                position += count;
+                written += count;
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.awards.snapshot;
+
+import java.io.IOException;
+
+/**
+ * O arquivo não é um snapshot válido: formato, versão ou checksum não conferem.
+ */
+public class SnapshotFormatException extends IOException {
+
+    public SnapshotFormatException(String message) {
+        super(message);
+    }
+}
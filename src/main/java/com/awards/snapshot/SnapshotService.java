@@ -0,0 +1,220 @@
+package com.awards.snapshot;
+
+import com.awards.entity.Movie;
+import com.awards.event.MovieChangeGate;
+import com.awards.event.MoviesChangedEvent;
+import com.awards.index.ProducerIntervalIndex;
+import com.awards.repository.MovieBatchRepository;
+import com.awards.repository.MovieKey;
+import com.awards.service.DatasetVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava e restaura o {@link MovieSnapshot} configurado em {@code awards.snapshot.path}.
+ * <p>
+ * Na restauração, o índice de intervalos é reconstruído direto do snapshot, de modo que
+ * {@code AwardsService} responde assim que o arquivo é mapeado. O banco é preenchido depois,
+ * numa thread de fundo e numa única transação, sem eventos por filme; ao final é publicado
+ * {@link MoviesChangedEvent#reloaded()} para que os demais ouvintes se reconstruam a partir do banco.
+ * <p>
+ * Se o preenchimento falhar, ele é refeito numa nova transação gravando apenas as chaves naturais
+ * (ano + título) ainda ausentes do banco: vale a primeira ocorrência de cada chave no snapshot e os
+ * filmes gravados por clientes durante o preenchimento são mantidos. Se a nova tentativa também falhar,
+ * o banco não tem o catálogo e o arquivo passa a ser a única cópia dele: as gravações seguintes vão
+ * para {@code <arquivo>.recovered} e o snapshot original nunca é sobrescrito. Em todos os casos a
+ * recarga é publicada, para que os índices reflitam o banco.
+ * <p>
+ * O snapshot é regravado ao encerrar a aplicação sempre que os dados mudaram desde a última gravação;
+ * um preenchimento em andamento é aguardado antes da comparação.
+ */
+@Service
+public class SnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    private final MovieBatchRepository movieBatchRepository;
+    private final ProducerIntervalIndex producerIntervalIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieChangeGate movieChangeGate;
+    private final DatasetVersion datasetVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final Path path;
+    private final int batchSize;
+    private volatile Path target;
+    private volatile long writtenVersion = -1;
+    private volatile Thread backfillThread;
+
+    public SnapshotService(MovieBatchRepository movieBatchRepository, ProducerIntervalIndex producerIntervalIndex,
+                           ApplicationEventPublisher eventPublisher, MovieChangeGate movieChangeGate,
+                           DatasetVersion datasetVersion,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${awards.snapshot.path:}") String path,
+                           @Value("${awards.import.batch-size:1000}") int batchSize) {
+        this.movieBatchRepository = movieBatchRepository;
+        this.producerIntervalIndex = producerIntervalIndex;
+        this.eventPublisher = eventPublisher;
+        this.movieChangeGate = movieChangeGate;
+        this.datasetVersion = datasetVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.target = this.path;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Carrega o snapshot, reconstrói o índice de intervalos e inicia o preenchimento do banco.
+     *
+     * @return {@code false} se o snapshot estiver desabilitado, não existir ou for inválido.
+     */
+    public boolean restore() {
+        if (!isEnabled() || !Files.exists(path)) {
+            return false;
+        }
+        long startTime = System.nanoTime();
+        MovieSnapshot snapshot;
+        Map<String, List<Integer>> winYearsByProducer;
+        Map<String, Map<String, List<Integer>>> winYearsByStudio;
+        try {
+            snapshot = MovieSnapshot.read(path);
+            winYearsByProducer = snapshot.winYearsByProducer();
+            winYearsByStudio = snapshot.winYearsByStudio();
+        } catch (IOException | RuntimeException e) {
+            // Qualquer defeito no arquivo leva à importação do CSV, nunca a uma falha na partida
+            log.warn("Ignoring movie snapshot {}: {}", path, e.toString());
+            return false;
+        }
+        ProducerIntervalIndex.Contents contents = producerIntervalIndex.build(winYearsByProducer, winYearsByStudio);
+        movieChangeGate.run(() -> producerIntervalIndex.install(contents));
+        // O servidor já atende enquanto a restauração roda: quem recebeu o índice vazio precisa de outra ETag
+        datasetVersion.increment();
+        log.info("Loaded {} movies from snapshot {} in {} ms", snapshot.size(), path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+        writtenVersion = datasetVersion.get();
+        backfillThread = Thread.ofPlatform().name("snapshot-backfill").daemon().start(() -> backfill(snapshot));
+        return true;
+    }
+
+    /**
+     * Grava o conteúdo atual do banco no snapshot, ou em {@code <arquivo>.recovered} depois de um
+     * preenchimento que falhou.
+     */
+    public void write() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        long version = datasetVersion.get();
+        MovieSnapshot.Writer writer = new MovieSnapshot.Writer();
+        transactionTemplate.executeWithoutResult(status -> movieBatchRepository.scanAll(writer::add));
+        Path file = target;
+        writer.write(file);
+        writtenVersion = version;
+        log.info("Wrote {} movies to snapshot {} in {} ms", writer.size(), file,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void writeOnShutdown() {
+        if (!isEnabled()) {
+            return;
+        }
+        Thread backfill = backfillThread;
+        if (backfill != null && backfill.isAlive()) {
+            // Gravar agora perderia os filmes ainda não confirmados no banco
+            log.info("Waiting for the snapshot backfill to finish before writing the snapshot");
+            try {
+                backfill.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (datasetVersion.get() == writtenVersion) {
+            return;
+        }
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write movie snapshot {}", target, e);
+        }
+    }
+
+    private void backfill(MovieSnapshot snapshot) {
+        long startTime = System.nanoTime();
+        try {
+            boolean filled = fill(snapshot);
+            long versionBeforeReload = datasetVersion.get();
+            eventPublisher.publishEvent(MoviesChangedEvent.reloaded());
+            if (versionBeforeReload == writtenVersion) {
+                // Nenhuma outra alteração chegou durante o preenchimento: não há nada novo a gravar
+                writtenVersion = datasetVersion.get();
+            }
+            if (filled) {
+                log.info("Backfilled {} movies from snapshot in {} ms", snapshot.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild indexes after the snapshot backfill", e);
+        }
+    }
+
+    /**
+     * @return {@code false} se nenhuma das tentativas conseguiu gravar o snapshot no banco.
+     */
+    private boolean fill(MovieSnapshot snapshot) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < snapshot.size(); from += batchSize) {
+                    movieBatchRepository.insertAll(snapshot.movies(from, Math.min(from + batchSize, snapshot.size())));
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            // Um cliente pode ter gravado um filme do snapshot enquanto o preenchimento rodava
+            log.warn("Failed to backfill movies from snapshot {}; retrying with the movies missing from the database",
+                    path, e);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < snapshot.size(); from += batchSize) {
+                    insertMissing(snapshot.movies(from, Math.min(from + batchSize, snapshot.size())));
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            target = path.resolveSibling(path.getFileName() + ".recovered");
+            log.error("Failed to backfill movies from snapshot {}; it is kept as is and later changes are written to {}",
+                    path, target, e);
+            return false;
+        }
+    }
+
+    private void insertMissing(List<Movie> movies) {
+        Map<MovieKey, Movie> moviesByKey = new LinkedHashMap<>();
+        movies.forEach(movie -> moviesByKey.putIfAbsent(MovieKey.of(movie), movie));
+        movieBatchRepository.findByKeys(new ArrayList<>(moviesByKey.values())).keySet().forEach(moviesByKey::remove);
+        movieBatchRepository.insertAll(new ArrayList<>(moviesByKey.values()));
+    }
+}
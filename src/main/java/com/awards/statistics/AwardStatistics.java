@@ -0,0 +1,143 @@
+package com.awards.statistics;
+
+import com.awards.dto.LeaderboardEntry;
+import com.awards.dto.YearStatistics;
+import com.awards.entity.Movie;
+import com.awards.event.AbstractMovieChangeListener;
+import com.awards.event.MovieChangeGate;
+import com.awards.event.MoviesChangedEvent;
+import com.awards.repository.MovieBatchRepository;
+import com.awards.util.Names;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Estatísticas materializadas do catálogo: indicações e vitórias por ano, por estúdio e por
+ * produtor. Os contadores são montados a partir do banco na inicialização e em recargas
+ * completas e, nas demais alterações, ajustados com os filmes do próprio
+ * {@link MoviesChangedEvent}, de modo que histogramas e rankings custam o tamanho da resposta
+ * em vez de uma agregação sobre a tabela {@code movie}. As reconstruções montam contadores novos
+ * e os trocam pelos atuais com o {@link MovieChangeGate} adquirido, para que nenhuma alteração seja
+ * contada duas vezes ou perdida.
+ * <p>
+ * Um filme conta uma indicação (e, se venceu, uma vitória) para cada estúdio e produtor distinto.
+ */
+@Component
+public class AwardStatistics extends AbstractMovieChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AwardStatistics.class);
+
+    private final MovieBatchRepository movieBatchRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Counters counters = new Counters();
+
+    public AwardStatistics(MovieBatchRepository movieBatchRepository, MovieChangeGate movieChangeGate) {
+        super(movieChangeGate);
+        this.movieBatchRepository = movieBatchRepository;
+    }
+
+    /**
+     * Indicações e vitórias de cada ano em {@code [from, to]} que tenha ao menos um filme, em ordem crescente.
+     */
+    public List<YearStatistics> getYears(int from, int to) {
+        return read(() -> {
+            List<YearStatistics> result = new ArrayList<>();
+            counters.years.subMap(from, true, to, true).forEach((year, counts) ->
+                    result.add(new YearStatistics(year, counts[0], counts[1])));
+            return result;
+        });
+    }
+
+    public List<LeaderboardEntry> getTopStudios(Ranking ranking, int limit) {
+        return read(() -> counters.studios.top(ranking, limit));
+    }
+
+    public List<LeaderboardEntry> getTopProducers(Ranking ranking, int limit) {
+        return read(() -> counters.producers.top(ranking, limit));
+    }
+
+    public Optional<LeaderboardEntry> getStudio(String name) {
+        return read(() -> counters.studios.get(name));
+    }
+
+    public Optional<LeaderboardEntry> getProducer(String name) {
+        return read(() -> counters.producers.get(name));
+    }
+
+    @Override
+    protected Runnable loadFromDatabase() {
+        long startTime = System.nanoTime();
+        Counters built = new Counters();
+        int[] scanned = new int[1];
+        movieBatchRepository.scanAll(movie -> {
+            built.apply(movie, 1);
+            scanned[0]++;
+        });
+        log.info("Award statistics built from {} movies in {} ms", scanned[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return () -> {
+            lock.writeLock().lock();
+            try {
+                counters = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+    }
+
+    @Override
+    protected void applyChange(MoviesChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getRemoved().forEach(movie -> counters.apply(movie, -1));
+            event.getAdded().forEach(movie -> counters.apply(movie, 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Contadores de um conjunto de filmes. Uma reconstrução monta contadores novos sem lock;
+     * depois de instalados, eles só são alterados com o lock de escrita adquirido.
+     */
+    private static final class Counters {
+        /** Ano → {indicações, vitórias}. */
+        private final NavigableMap<Integer, int[]> years = new TreeMap<>();
+        private final Leaderboard studios = new Leaderboard();
+        private final Leaderboard producers = new Leaderboard();
+
+        /**
+         * Soma ({@code sign = 1}) ou subtrai ({@code sign = -1}) o filme de todos os contadores.
+         */
+        void apply(Movie movie, int sign) {
+            if (movie.getYear() == null) {
+                return;
+            }
+            int wins = Boolean.TRUE.equals(movie.getWinner()) ? sign : 0;
+            int[] counts = years.computeIfAbsent(movie.getYear(), k -> new int[2]);
+            counts[0] += sign;
+            counts[1] += wins;
+            if (counts[0] <= 0) {
+                years.remove(movie.getYear());
+            }
+            new LinkedHashSet<>(Names.split(movie.getStudios())).forEach(studio -> studios.add(studio, sign, wins));
+            new LinkedHashSet<>(Names.split(movie.getProducers())).forEach(producer -> producers.add(producer, sign, wins));
+        }
+    }
+}
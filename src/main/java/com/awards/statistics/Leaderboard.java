@@ -0,0 +1,76 @@
+package com.awards.statistics;
+
+import com.awards.dto.LeaderboardEntry;
+
+import java.util.*;
+
+/**
+ * Contadores de indicações e vitórias por nome, mantidos também em dois conjuntos ordenados
+ * (por vitórias e por indicações). Cada ajuste reposiciona apenas o nome alterado, em
+ * O(log n), e os primeiros N do ranking são lidos em O(log n + N).
+ * <p>
+ * Não é thread-safe: o {@link AwardStatistics} controla o acesso.
+ */
+final class Leaderboard {
+
+    private static final Comparator<Standing> BY_WINS = Comparator
+            .comparingInt(Standing::wins).reversed()
+            .thenComparing(Comparator.comparingInt(Standing::nominations).reversed())
+            .thenComparing(Standing::name);
+    private static final Comparator<Standing> BY_NOMINATIONS = Comparator
+            .comparingInt(Standing::nominations).reversed()
+            .thenComparing(Comparator.comparingInt(Standing::wins).reversed())
+            .thenComparing(Standing::name);
+
+    private final Map<String, Standing> standings = new HashMap<>();
+    private final NavigableSet<Standing> byWins = new TreeSet<>(BY_WINS);
+    private final NavigableSet<Standing> byNominations = new TreeSet<>(BY_NOMINATIONS);
+
+    /**
+     * Soma {@code nominations} e {@code wins} (negativos para remover) aos contadores de {@code name}.
+     */
+    void add(String name, int nominations, int wins) {
+        Standing previous = standings.remove(name);
+        Standing current = previous == null
+                ? new Standing(name, nominations, wins)
+                : new Standing(name, previous.nominations() + nominations, previous.wins() + wins);
+        if (previous != null) {
+            byWins.remove(previous);
+            byNominations.remove(previous);
+        }
+        if (current.nominations() > 0) {
+            standings.put(name, current);
+            byWins.add(current);
+            byNominations.add(current);
+        }
+    }
+
+    int size() {
+        return standings.size();
+    }
+
+    Optional<LeaderboardEntry> get(String name) {
+        return Optional.ofNullable(standings.get(name)).map(Standing::toEntry);
+    }
+
+    /**
+     * Os primeiros {@code limit} nomes do ranking; quem não venceu nenhuma vez fica fora do
+     * ranking por vitórias.
+     */
+    List<LeaderboardEntry> top(Ranking ranking, int limit) {
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, standings.size()));
+        for (Standing standing : ranking == Ranking.WINS ? byWins : byNominations) {
+            if (entries.size() == limit || (ranking == Ranking.WINS && standing.wins() == 0)) {
+                break;
+            }
+            entries.add(standing.toEntry());
+        }
+        return entries;
+    }
+
+    private record Standing(String name, int nominations, int wins) {
+        LeaderboardEntry toEntry() {
+            return new LeaderboardEntry(name, nominations, wins);
+        }
+    }
+}
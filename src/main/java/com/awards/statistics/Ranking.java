@@ -0,0 +1,17 @@
+package com.awards.statistics;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Critério de ordenação dos rankings de {@link AwardStatistics}. Empates são desfeitos pelo
+ * outro contador e, por fim, pelo nome.
+ */
+public enum Ranking {
+    WINS,
+    NOMINATIONS;
+
+    public static Optional<Ranking> of(String name) {
+        return Arrays.stream(values()).filter(ranking -> ranking.name().equalsIgnoreCase(name)).findFirst();
+    }
+}
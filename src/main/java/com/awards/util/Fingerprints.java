@@ -0,0 +1,31 @@
+package com.awards.util;
+
+public final class Fingerprints {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char SEPARATOR = '\u001f';
+
+    private Fingerprints() {
+    }
+
+    /**
+     * Calcula um hash FNV-1a de 64 bits sobre os campos informados, separados por um caractere
+     * de controle para que ("ab", "c") e ("a", "bc") resultem em valores diferentes.
+     *
+     * @param fields Os campos, na ordem em que devem ser considerados. {@code null} equivale a vazio.
+     * @return O hash dos campos.
+     */
+    public static long of(String... fields) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String field : fields) {
+            if (field != null) {
+                for (int i = 0; i < field.length(); i++) {
+                    hash = (hash ^ field.charAt(i)) * FNV_PRIME;
+                }
+            }
+            hash = (hash ^ SEPARATOR) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,34 @@
+package com.awards.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public final class Names {
+
+    private static final Pattern SEPARATOR = Pattern.compile(",|\\s+and\\s+");
+
+    private Names() {
+    }
+
+    /**
+     * Separa uma lista de nomes no formato do arquivo CSV ("A, B and C").
+     *
+     * @param joined Os nomes concatenados, como gravados em {@code Movie.producers} ou {@code Movie.studios}.
+     * @return Os nomes individuais e distintos, sem espaços nas extremidades e sem entradas vazias.
+     */
+    public static List<String> split(String joined) {
+        if (joined == null || joined.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : SEPARATOR.split(joined)) {
+            String trimmedName = name.trim();
+            if (!trimmedName.isEmpty() && !names.contains(trimmedName)) {
+                names.add(trimmedName);
+            }
+        }
+        return names;
+    }
+}
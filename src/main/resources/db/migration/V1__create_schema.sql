@@ -0,0 +1,45 @@
+-- Esquema inicial, equivalente ao gerado pelo Hibernate a partir das entidades.
+-- Usado pelo perfil "persistent"; o perfil padrão continua gerando o esquema em memória.
+
+CREATE TABLE movie (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    release_year INTEGER      NOT NULL,
+    title        VARCHAR(255) NOT NULL,
+    studios      VARCHAR(255) NOT NULL,
+    producers    CLOB         NOT NULL,
+    winner       BOOLEAN
+);
+
+CREATE INDEX idx_movie_winner_year ON movie (winner, release_year);
+
+CREATE TABLE producer (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_producer_name UNIQUE (name)
+);
+
+CREATE TABLE studio (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_studio_name UNIQUE (name)
+);
+
+CREATE TABLE movie_producer (
+    movie_id    BIGINT NOT NULL,
+    producer_id BIGINT NOT NULL,
+    PRIMARY KEY (movie_id, producer_id),
+    CONSTRAINT fk_movie_producer_movie FOREIGN KEY (movie_id) REFERENCES movie (id),
+    CONSTRAINT fk_movie_producer_producer FOREIGN KEY (producer_id) REFERENCES producer (id)
+);
+
+CREATE INDEX idx_movie_producer_producer ON movie_producer (producer_id);
+
+CREATE TABLE movie_studio (
+    movie_id  BIGINT NOT NULL,
+    studio_id BIGINT NOT NULL,
+    PRIMARY KEY (movie_id, studio_id),
+    CONSTRAINT fk_movie_studio_movie FOREIGN KEY (movie_id) REFERENCES movie (id),
+    CONSTRAINT fk_movie_studio_studio FOREIGN KEY (studio_id) REFERENCES studio (id)
+);
+
+CREATE INDEX idx_movie_studio_studio ON movie_studio (studio_id);
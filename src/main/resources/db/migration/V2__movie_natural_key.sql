@@ -0,0 +1,18 @@
+-- Chave natural do filme: usada pela importação com mode=upsert e pelo cadastro para evitar duplicatas.
+-- Antes dela, reenviar um arquivo duplicava os filmes; mantém-se apenas a primeira cópia (menor id)
+-- de cada ano + título, junto com seus vínculos de produtores e estúdios.
+
+DELETE FROM movie_producer WHERE movie_id IN (
+    SELECT m.id FROM movie m
+    WHERE EXISTS (SELECT 1 FROM movie d WHERE d.release_year = m.release_year AND d.title = m.title AND d.id < m.id)
+);
+
+DELETE FROM movie_studio WHERE movie_id IN (
+    SELECT m.id FROM movie m
+    WHERE EXISTS (SELECT 1 FROM movie d WHERE d.release_year = m.release_year AND d.title = m.title AND d.id < m.id)
+);
+
+DELETE FROM movie m
+WHERE EXISTS (SELECT 1 FROM movie d WHERE d.release_year = m.release_year AND d.title = m.title AND d.id < m.id);
+
+ALTER TABLE movie ADD CONSTRAINT uk_movie_year_title UNIQUE (release_year, title);
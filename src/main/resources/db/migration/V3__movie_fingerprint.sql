@@ -0,0 +1,4 @@
+-- Hash do conteúdo de cada filme, usado pela importação em modo delta.
+-- Linhas antigas ficam sem hash e são comparadas pelo conteúdo na primeira importação delta.
+
+ALTER TABLE movie ADD COLUMN fingerprint BIGINT;
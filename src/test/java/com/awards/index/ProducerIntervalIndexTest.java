@@ -0,0 +1,94 @@
+package com.awards.index;
+
+import com.awards.dto.AwardIntervalResponse;
+import com.awards.dto.ProducerInterval;
+import com.awards.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProducerIntervalIndexTest {
+
+    private static final String STUDIO = "Studio";
+
+    @Test
+    void query_shouldMatchARecalculationAcrossWritesAndTreeRebuilds() {
+        ProducerIntervalIndex index = new ProducerIntervalIndex();
+        Random random = new Random(7);
+        List<Movie> movies = new ArrayList<>();
+        try {
+            // Bem mais alterações que o limite de diferenças, para que árvores novas sejam montadas no meio
+            for (int change = 0; change < 3000; change++) {
+                if (!movies.isEmpty() && random.nextInt(3) == 0) {
+                    Movie movie = movies.remove(random.nextInt(movies.size()));
+                    index.apply(List.of(movie), List.of());
+                } else {
+                    Movie movie = movie("Producer " + random.nextInt(40), 1950 + random.nextInt(70), random.nextInt(4) > 0);
+                    movies.add(movie);
+                    index.apply(List.of(), List.of(movie));
+                }
+                if (change % 10 == 0) {
+                    int from = 1945 + random.nextInt(80);
+                    int to = from + random.nextInt(40);
+                    int limit = random.nextInt(4);
+                    assertSameResponse(movies, index, from, to, limit, null);
+                    assertSameResponse(movies, index, from, to, limit, STUDIO);
+                    assertSameResponse(movies, index, Integer.MIN_VALUE, Integer.MAX_VALUE, limit, null);
+                }
+            }
+        } finally {
+            index.shutdown();
+        }
+    }
+
+    private static void assertSameResponse(List<Movie> movies, ProducerIntervalIndex index, int from, int to, int limit,
+                                           String studio) {
+        Map<String, List<Integer>> winYears = new HashMap<>();
+        for (Movie movie : movies) {
+            if (movie.getWinner() && (studio == null || movie.getStudios().equals(studio))) {
+                winYears.computeIfAbsent(movie.getProducers(), k -> new ArrayList<>()).add(movie.getYear());
+            }
+        }
+        List<ProducerInterval> intervals = new ArrayList<>();
+        winYears.forEach((producer, years) -> {
+            Collections.sort(years);
+            for (int i = 0; i < years.size() - 1; i++) {
+                if (years.get(i) >= from && years.get(i + 1) <= to) {
+                    intervals.add(new ProducerInterval(producer, years.get(i + 1) - years.get(i), years.get(i), years.get(i + 1)));
+                }
+            }
+        });
+
+        AwardIntervalResponse response = index.query(from, to, limit, studio);
+
+        String range = "[" + from + ", " + to + "] limit " + limit + " studio " + studio;
+        assertEquals(select(intervals, YearIntervalTree.SHORTEST_FIRST, limit), response.getMin(), range);
+        assertEquals(select(intervals, YearIntervalTree.LONGEST_FIRST, limit), response.getMax(), range);
+    }
+
+    private static List<ProducerInterval> select(List<ProducerInterval> intervals, Comparator<ProducerInterval> order, int limit) {
+        List<ProducerInterval> sorted = new ArrayList<>(intervals);
+        sorted.sort(order);
+        if (limit > 0) {
+            return sorted.subList(0, Math.min(limit, sorted.size()));
+        }
+        List<ProducerInterval> tied = new ArrayList<>(sorted.stream()
+                .takeWhile(interval -> interval.getInterval() == sorted.get(0).getInterval())
+                .toList());
+        tied.sort(ProducerIntervalIndex.RESPONSE_ORDER);
+        return tied;
+    }
+
+    private static Movie movie(String producer, int year, boolean inStudio) {
+        return Movie.builder().year(year).title(producer + " " + year).studios(inStudio ? STUDIO : "Other Studio")
+                .producers(producer).winner(true).build();
+    }
+}
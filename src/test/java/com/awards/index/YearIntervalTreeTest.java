@@ -0,0 +1,72 @@
+package com.awards.index;
+
+import com.awards.dto.ProducerInterval;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class YearIntervalTreeTest {
+
+    @Test
+    void iterator_shouldMatchAFilteredSortForRandomCatalogues() {
+        Random random = new Random(42);
+        for (int catalogue = 0; catalogue < 500; catalogue++) {
+            List<ProducerInterval> intervals = new ArrayList<>();
+            int count = random.nextInt(60);
+            for (int i = 0; i < count; i++) {
+                int previousWin = 1980 + random.nextInt(40);
+                intervals.add(interval("Producer " + random.nextInt(8), previousWin, previousWin + random.nextInt(15)));
+            }
+            if (count > 0) {
+                // Intervalos repetidos contam uma vez cada
+                intervals.add(intervals.get(0));
+            }
+            YearIntervalTree tree = YearIntervalTree.of(intervals);
+            for (int query = 0; query < 20; query++) {
+                int from = 1975 + random.nextInt(60);
+                int to = from + random.nextInt(30);
+                assertSameOrder(intervals, tree, from, to);
+            }
+            assertSameOrder(intervals, tree, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void iterator_shouldSkipIntervalsEndingAfterTheRange() {
+        List<ProducerInterval> intervals = new ArrayList<>();
+        for (int producer = 0; producer < 1000; producer++) {
+            intervals.add(interval("Producer " + producer, 1990 + producer % 2, 2030));
+        }
+        intervals.add(interval("Joel Silver", 1990, 1991));
+        YearIntervalTree tree = YearIntervalTree.of(intervals);
+
+        List<ProducerInterval> result = new ArrayList<>();
+        tree.iterator(1990, 1991, YearIntervalTree.LONGEST_FIRST).forEachRemaining(result::add);
+
+        assertEquals(List.of(interval("Joel Silver", 1990, 1991)), result);
+    }
+
+    private static void assertSameOrder(List<ProducerInterval> intervals, YearIntervalTree tree, int from, int to) {
+        for (Comparator<ProducerInterval> order : List.of(YearIntervalTree.SHORTEST_FIRST, YearIntervalTree.LONGEST_FIRST)) {
+            List<ProducerInterval> expected = new ArrayList<>();
+            for (ProducerInterval interval : intervals) {
+                if (interval.getPreviousWin() >= from && interval.getFollowingWin() <= to) {
+                    expected.add(interval);
+                }
+            }
+            expected.sort(order);
+            List<ProducerInterval> actual = new ArrayList<>();
+            tree.iterator(from, to, order).forEachRemaining(actual::add);
+            assertEquals(expected, actual, "[" + from + ", " + to + "]");
+        }
+    }
+
+    private static ProducerInterval interval(String producer, int previousWin, int followingWin) {
+        return new ProducerInterval(producer, followingWin - previousWin, previousWin, followingWin);
+    }
+}
@@ -0,0 +1,82 @@
+package com.awards.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mesmas asserções de /awards/producers/intervals para cada motor de cálculo
+ * ({@code awards.intervals.engine}). Cada subclasse sobe um contexto com o motor e um
+ * banco próprios; os filmes incluídos pelos testes são removidos ao final.
+ */
+abstract class AbstractIntervalEngineIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getProducerIntervals_shouldReturnCorrectIntervals() throws Exception {
+        mockMvc.perform(get("/awards/producers/intervals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min", hasSize(1)))
+                .andExpect(jsonPath("$.min[0].producer", is("Joel Silver")))
+                .andExpect(jsonPath("$.min[0].interval", is(1)))
+                .andExpect(jsonPath("$.min[0].previousWin", is(1990)))
+                .andExpect(jsonPath("$.min[0].followingWin", is(1991)))
+                .andExpect(jsonPath("$.max", hasSize(1)))
+                .andExpect(jsonPath("$.max[0].producer", is("Matthew Vaughn")))
+                .andExpect(jsonPath("$.max[0].interval", is(13)))
+                .andExpect(jsonPath("$.max[0].previousWin", is(2002)))
+                .andExpect(jsonPath("$.max[0].followingWin", is(2015)));
+    }
+
+    /**
+     * Empates nos dois extremos, que todos os motores devolvem por produtor e vitória anterior.
+     */
+    @Test
+    void getProducerIntervals_shouldOrderTiesByProducerAndPreviousWin() throws Exception {
+        MockMultipartFile fixture = new MockMultipartFile("file", "movies.csv", "text/csv",
+                ("year;title;studios;producers;winner\n"
+                        + "2061;Engine Tie One;Engine Studio;Zeta Engine Producer, Max Engine Producer;yes\n"
+                        + "2062;Engine Tie Two;Engine Studio;Zeta Engine Producer and Alpha Engine Producer;yes\n"
+                        + "2063;Engine Tie Three;Engine Studio;Alpha Engine Producer;yes\n"
+                        + "2074;Engine Tie Four;Engine Studio;Max Engine Producer;yes\n"
+                        + "2087;Engine Tie Five;Engine Studio;Max Engine Producer;yes\n").getBytes());
+        mockMvc.perform(multipart("/awards/upload-movies").file(fixture))
+                .andExpect(status().isOk());
+
+        try {
+            mockMvc.perform(get("/awards/producers/intervals"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.min[*].producer",
+                            contains("Alpha Engine Producer", "Joel Silver", "Zeta Engine Producer")))
+                    .andExpect(jsonPath("$.min[*].previousWin", contains(2062, 1990, 2061)))
+                    .andExpect(jsonPath("$.min[*].interval", everyItem(is(1))))
+                    .andExpect(jsonPath("$.max[*].producer",
+                            contains("Matthew Vaughn", "Max Engine Producer", "Max Engine Producer")))
+                    .andExpect(jsonPath("$.max[*].previousWin", contains(2002, 2061, 2074)))
+                    .andExpect(jsonPath("$.max[*].interval", everyItem(is(13))));
+        } finally {
+            String found = mockMvc.perform(get("/search/movies?q=engine tie&fields=title"))
+                    .andReturn().getResponse().getContentAsString();
+            List<Integer> ids = JsonPath.read(found, "$[*].id");
+            mockMvc.perform(delete("/movies/bulk").contentType(MediaType.APPLICATION_JSON).content(ids.toString()))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/awards/producers/intervals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min[*].producer", contains("Joel Silver")))
+                .andExpect(jsonPath("$.max[*].producer", contains("Matthew Vaughn")));
+    }
+}
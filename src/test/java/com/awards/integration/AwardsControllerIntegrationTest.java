@@ -1,15 +1,27 @@
 package com.awards.integration;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -29,9 +41,297 @@ public class AwardsControllerIntegrationTest {
                 .andExpect(jsonPath("$.min[0].previousWin", is(1990)))
                 .andExpect(jsonPath("$.min[0].followingWin", is(1991)))
                 .andExpect(jsonPath("$.max", hasSize(1)))
-                .andExpect(jsonPath("$.max[0].producer", is("Buzz Feitshans")))
-                .andExpect(jsonPath("$.max[0].interval", is(9)))
-                .andExpect(jsonPath("$.max[0].previousWin", is(1985)))
-                .andExpect(jsonPath("$.max[0].followingWin", is(1994)));
+                .andExpect(jsonPath("$.max[0].producer", is("Matthew Vaughn")))
+                .andExpect(jsonPath("$.max[0].interval", is(13)))
+                .andExpect(jsonPath("$.max[0].previousWin", is(2002)))
+                .andExpect(jsonPath("$.max[0].followingWin", is(2015)));
+    }
+
+    @Test
+    void getProducerIntervals_shouldFilterByYearRangeAndLimit() throws Exception {
+        mockMvc.perform(get("/awards/producers/intervals?from=1985&to=1994"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min[*].producer", contains("Joel Silver")))
+                .andExpect(jsonPath("$.max[*].producer", contains("Buzz Feitshans")))
+                .andExpect(jsonPath("$.max[0].interval", is(9)));
+
+        mockMvc.perform(get("/awards/producers/intervals?from=1984&to=1994&limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min[*].producer", contains("Joel Silver", "Bo Derek")))
+                .andExpect(jsonPath("$.max[*].producer", contains("Buzz Feitshans", "Bo Derek")));
+
+        mockMvc.perform(get("/awards/producers/intervals?studio=TriStar Pictures"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min", hasSize(0)))
+                .andExpect(jsonPath("$.max", hasSize(0)));
+
+        mockMvc.perform(get("/awards/producers/intervals?limit=-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProducerIntervals_shouldComputeIntervalsPerStudio() throws Exception {
+        MockMultipartFile fixture = new MockMultipartFile("file", "movies.csv", "text/csv",
+                ("year;title;studios;producers;winner\n"
+                        + "2041;Studio Interval One;Interval Studio, Other Studio;Interval Producer;yes\n"
+                        + "2043;Studio Interval Elsewhere;Other Studio;Interval Producer;yes\n"
+                        + "2044;Studio Interval Two;Interval Studio;Interval Producer;yes\n").getBytes());
+        mockMvc.perform(multipart("/awards/upload-movies").file(fixture))
+                .andExpect(status().isOk());
+
+        try {
+            // Em Interval Studio a vitória de 2043 não conta: o único intervalo é 2041-2044
+            mockMvc.perform(get("/awards/producers/intervals?studio=Interval Studio"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.min", hasSize(1)))
+                    .andExpect(jsonPath("$.min[0].producer", is("Interval Producer")))
+                    .andExpect(jsonPath("$.min[0].interval", is(3)))
+                    .andExpect(jsonPath("$.min[0].previousWin", is(2041)))
+                    .andExpect(jsonPath("$.min[0].followingWin", is(2044)))
+                    .andExpect(jsonPath("$.max[0].interval", is(3)));
+
+            mockMvc.perform(get("/awards/producers/intervals?studio=Other Studio&limit=5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.min[*].interval", contains(2)))
+                    .andExpect(jsonPath("$.min[0].previousWin", is(2041)))
+                    .andExpect(jsonPath("$.min[0].followingWin", is(2043)));
+
+            mockMvc.perform(get("/awards/producers/intervals?studio=Interval Studio&to=2043"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.min", hasSize(0)));
+        } finally {
+            String found = mockMvc.perform(get("/search/movies?q=Studio Interval&fields=title"))
+                    .andReturn().getResponse().getContentAsString();
+            List<Integer> ids = JsonPath.read(found, "$[*].id");
+            mockMvc.perform(delete("/movies/bulk").contentType(MediaType.APPLICATION_JSON).content(ids.toString()))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void getProducerIntervals_shouldAnswerNotModifiedForCurrentETag() throws Exception {
+        String eTag = mockMvc.perform(get("/awards/producers/intervals"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/awards/producers/intervals").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getProducerWins_shouldReturnWinYearsFromNormalizedTables() throws Exception {
+        mockMvc.perform(get("/awards/producers/{name}/wins", "Joel Silver")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.producer", is("Joel Silver")))
+                .andExpect(jsonPath("$.wins", contains(1990, 1991)));
+
+        mockMvc.perform(get("/awards/producers/{name}/wins", "Unknown Producer"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void uploadMovies_withUpsertMode_shouldNotDuplicateRows() throws Exception {
+        String header = "year;title;studios;producers;winner\n";
+        MockMultipartFile original = new MockMultipartFile("file", "movies.csv", "text/csv",
+                (header + "2031;Upsert Movie A;Studio A;Producer A;\n2031;Upsert Movie B;Studio B;Producer B;\n").getBytes());
+        MockMultipartFile changed = new MockMultipartFile("file", "movies.csv", "text/csv",
+                (header + "2031;Upsert Movie A;Studio A;Producer A;\n2031;Upsert Movie B;Studio C;Producer B;\n").getBytes());
+
+        mockMvc.perform(multipart("/awards/upload-movies").file(original).param("mode", "upsert"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("2 filmes foram importados")));
+
+        mockMvc.perform(multipart("/awards/upload-movies").file(original).param("mode", "upsert"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("0 inseridos, 0 atualizados, 0 removidos e 2 sem alteração")));
+
+        mockMvc.perform(multipart("/awards/upload-movies").file(changed).param("mode", "upsert"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("0 inseridos, 1 atualizados, 0 removidos e 1 sem alteração")));
+
+        mockMvc.perform(multipart("/awards/upload-movies").file(original))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void streamMovies_withALineLongerThanTheLimit_shouldReturnBadRequest() throws Exception {
+        String csv = "year;title;studios;producers;winner\n" + "x".repeat(100_000);
+
+        mockMvc.perform(post("/awards/upload-movies/stream").contentType("text/csv").content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("A linha 2 excede o limite")));
+    }
+
+    @Test
+    void streamMovies_shouldImportTheRowsAndUpdateTheIndexes() throws Exception {
+        String csv = "year;title;studios;producers;winner\r\n"
+                + "2034;Stream Interval One;Stream Studio;Stream Producer;yes\r\n"
+                + "2036;Stream Interval Two;Stream Studio;Stream Producer;yes";
+
+        mockMvc.perform(post("/awards/upload-movies/stream").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("2 filmes foram importados")));
+
+        try {
+            mockMvc.perform(get("/search/producers/{name}", "Stream Producer"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.winYears", contains(2034, 2036)));
+        } finally {
+            String found = mockMvc.perform(get("/search/movies?q=Stream Interval&fields=title"))
+                    .andReturn().getResponse().getContentAsString();
+            List<Integer> ids = JsonPath.read(found, "$[*].id");
+            mockMvc.perform(delete("/movies/bulk").contentType(MediaType.APPLICATION_JSON).content(ids.toString()))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void streamMovies_withInvalidYearMidStream_shouldImportNothing() throws Exception {
+        StringBuilder csv = new StringBuilder("year;title;studios;producers;winner\n");
+        for (int row = 0; row < 2500; row++) {
+            csv.append(2035).append(";Stream Row ").append(row).append(";Studio R;Stream Rollback Producer;yes\n");
+        }
+        csv.append("20x5;Stream Bad Row;Studio R;Stream Rollback Producer;yes\n");
+
+        mockMvc.perform(post("/awards/upload-movies/stream").contentType("text/csv").content(csv.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Ano inválido na linha 2502")));
+
+        // Os lotes gravados antes da linha inválida são desfeitos com a transação
+        mockMvc.perform(get("/search/producers/{name}", "Stream Rollback Producer"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamMovies_withExistingMovie_shouldReturnConflict() throws Exception {
+        String csv = "year;title;studios;producers;winner\n2033;Stream Movie;Studio S;Producer S;\n";
+
+        mockMvc.perform(post("/awards/upload-movies/stream").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("1 filmes foram importados")));
+
+        mockMvc.perform(post("/awards/upload-movies/stream").contentType("text/csv").content(csv))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(containsString("mesmo ano e título")));
+    }
+
+    @Test
+    void uploadMovies_withValueRejectedByTheDatabase_shouldReturnBadRequest() throws Exception {
+        // Título acima das 255 posições da coluna: viola uma restrição, mas não é filme repetido
+        String csv = "year;title;studios;producers;winner\n2037;" + "T".repeat(300) + ";Studio L;Producer L;\n";
+
+        mockMvc.perform(multipart("/awards/upload-movies")
+                        .file(new MockMultipartFile("file", "movies.csv", "text/csv", csv.getBytes())))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("recusados pelo banco")));
+        mockMvc.perform(post("/awards/upload-movies/stream").contentType("text/csv").content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("recusados pelo banco")));
+    }
+
+    @Test
+    void uploadMovies_withDeltaMode_shouldWriteOnlyTheDifferences() throws Exception {
+        String catalog = exportCsv();
+        MockMultipartFile current = new MockMultipartFile("file", "movies.csv", "text/csv",
+                catalog.getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile withNewMovie = new MockMultipartFile("file", "movies.csv", "text/csv",
+                (catalog + "2032;Delta Movie;Studio D;Producer D;\n").getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/awards/upload-movies").file(current).param("mode", "delta"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("0 inseridos, 0 atualizados, 0 removidos")));
+
+        mockMvc.perform(multipart("/awards/upload-movies").file(withNewMovie).param("mode", "delta"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("1 inseridos, 0 atualizados, 0 removidos")));
+
+        mockMvc.perform(multipart("/awards/upload-movies").file(current).param("mode", "delta"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("0 inseridos, 0 atualizados, 1 removidos")));
+    }
+
+    @Test
+    void exportMovies_shouldBeReadBackByTheImportWithTheSameFields() throws Exception {
+        List<Integer> ids = List.of(
+                createMovie("{\"year\":2045,\"title\":\"Round Trip, \\\"Ação\\\" Part 1\",\"studios\":\"Estúdio Um, Studio Two\","
+                        + "\"producers\":\"Ana Souza, Bruno Lima and Carla Dias\",\"winner\":true}"),
+                createMovie("{\"year\":2046,\"title\":\"Round Trip\\tPart 2\",\"studios\":\"Estúdio Um\","
+                        + "\"producers\":\"Ana Souza\",\"winner\":false}"));
+        try {
+            String catalog = exportCsv();
+            assertThat(catalog, containsString("2045;Round Trip, \"Ação\" Part 1;Estúdio Um, Studio Two;Ana Souza, Bruno Lima and Carla Dias;yes\n"));
+            MockMultipartFile exported = new MockMultipartFile("file", "movies.csv", "text/csv",
+                    catalog.getBytes(StandardCharsets.UTF_8));
+
+            // Cada linha exportada corresponde a um filme idêntico ao gravado
+            mockMvc.perform(multipart("/awards/upload-movies").file(exported).param("mode", "upsert"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("0 inseridos, 0 atualizados, 0 removidos")));
+
+            mockMvc.perform(delete("/movies/bulk").contentType(MediaType.APPLICATION_JSON).content(ids.toString()))
+                    .andExpect(status().isOk());
+            mockMvc.perform(multipart("/awards/upload-movies").file(exported).param("mode", "upsert"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("2 inseridos, 0 atualizados, 0 removidos")));
+
+            assertEquals(sortedLines(catalog), sortedLines(exportCsv()));
+        } finally {
+            String found = mockMvc.perform(get("/search/movies?q=Round Trip&fields=title"))
+                    .andReturn().getResponse().getContentAsString();
+            List<Integer> remaining = JsonPath.read(found, "$[*].id");
+            mockMvc.perform(delete("/movies/bulk").contentType(MediaType.APPLICATION_JSON).content(remaining.toString()))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void submitImport_shouldRunAsJobAndReportErrors() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "movies.csv", "text/csv",
+                "year;title;studios;producers;winner\nabc;Bad Movie;Studio;Producer;yes\n".getBytes());
+
+        String location = mockMvc.perform(multipart("/awards/imports").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.id", notNullValue()))
+                .andReturn().getResponse().getHeader("Location");
+
+        String jobStatus = "QUEUED";
+        for (int attempt = 0; attempt < 50 && (jobStatus.equals("QUEUED") || jobStatus.equals("RUNNING")); attempt++) {
+            Thread.sleep(100);
+            jobStatus = JsonPath.read(
+                    mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString(), "$.status");
+        }
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("FAILED")))
+                .andExpect(jsonPath("$.rowsWritten", is(0)))
+                .andExpect(jsonPath("$.errors", hasSize(1)));
+
+        mockMvc.perform(get("/awards/imports/{id}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private int createMovie(String json) throws Exception {
+        String created = mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(created, "$.id");
+    }
+
+    private String exportCsv() throws Exception {
+        MvcResult export = mockMvc.perform(get("/movies/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return new String(mockMvc.perform(asyncDispatch(export)).andReturn().getResponse().getContentAsByteArray(),
+                StandardCharsets.UTF_8);
+    }
+
+    private static List<String> sortedLines(String csv) {
+        return csv.lines().sorted().toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.awards.integration;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {"awards.intervals.engine=database", "spring.datasource.url=jdbc:h2:mem:engine-database"})
+@AutoConfigureMockMvc
+public class DatabaseIntervalEngineIntegrationTest extends AbstractIntervalEngineIntegrationTest {
+}
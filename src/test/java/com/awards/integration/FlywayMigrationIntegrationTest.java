@@ -0,0 +1,51 @@
+package com.awards.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Migrações do perfil persistent aplicadas sobre um banco criado por versões anteriores.
+ */
+public class FlywayMigrationIntegrationTest {
+
+    @Test
+    void migrate_shouldRemoveDuplicateMoviesBeforeAddingTheNaturalKey() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration-test;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        flyway(dataSource).target("1").load().migrate();
+        jdbcTemplate.update("INSERT INTO producer (id, name) VALUES (1, 'Allan Carr')");
+        jdbcTemplate.update("INSERT INTO studio (id, name) VALUES (1, 'Associated Film Distribution')");
+        // O mesmo arquivo enviado duas vezes antes da chave natural existir
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO movie (id, release_year, title, studios, producers, winner) VALUES (?, 1980, "
+                    + "'Can''t Stop the Music', 'Associated Film Distribution', 'Allan Carr', TRUE)", id);
+            jdbcTemplate.update("INSERT INTO movie_producer (movie_id, producer_id) VALUES (?, 1)", id);
+            jdbcTemplate.update("INSERT INTO movie_studio (movie_id, studio_id) VALUES (?, 1)", id);
+        }
+        jdbcTemplate.update("INSERT INTO movie (id, release_year, title, studios, producers, winner) VALUES (4, 1980, "
+                + "'Cruising', 'Lorimar Productions', 'Jerry Weintraub', FALSE)");
+
+        flyway(dataSource).load().migrate();
+
+        assertEquals(List.of(1L, 4L), jdbcTemplate.queryForList("SELECT id FROM movie ORDER BY id", Long.class));
+        assertEquals(List.of(1L), jdbcTemplate.queryForList("SELECT movie_id FROM movie_producer", Long.class));
+        assertEquals(List.of(1L), jdbcTemplate.queryForList("SELECT movie_id FROM movie_studio", Long.class));
+        assertThrows(Exception.class, () -> jdbcTemplate.update("INSERT INTO movie (release_year, title, studios, producers) "
+                + "VALUES (1980, 'Cruising', 'Lorimar Productions', 'Jerry Weintraub')"));
+    }
+
+    private static FluentConfiguration flyway(JdbcDataSource dataSource) {
+        return Flyway.configure().dataSource(dataSource).locations("classpath:db/migration");
+    }
+}
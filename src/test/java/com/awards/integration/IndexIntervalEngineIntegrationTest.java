@@ -0,0 +1,9 @@
+package com.awards.integration;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {"awards.intervals.engine=index", "spring.datasource.url=jdbc:h2:mem:engine-index"})
+@AutoConfigureMockMvc
+public class IndexIntervalEngineIntegrationTest extends AbstractIntervalEngineIntegrationTest {
+}
@@ -0,0 +1,81 @@
+package com.awards.integration;
+
+import com.awards.dto.AwardIntervalResponse;
+import com.awards.dto.ProducerInterval;
+import com.awards.service.AwardsService;
+import com.awards.service.ParallelIntervalCalculator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {"awards.intervals.engine=parallel", "spring.datasource.url=jdbc:h2:mem:interval-coalescing"})
+public class IntervalCoalescingIntegrationTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private AwardsService awardsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private ParallelIntervalCalculator parallelIntervalCalculator;
+
+    @Test
+    void getProducersAwardIntervals_shouldShareOneCalculationBetweenConcurrentCallers() throws Exception {
+        ProducerInterval interval = new ProducerInterval("Joel Silver", 1, 1990, 1991);
+        AwardIntervalResponse expected = new AwardIntervalResponse(List.of(interval), List.of(interval));
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            assertTrue(release.await(30, TimeUnit.SECONDS));
+            return expected;
+        }).when(parallelIntervalCalculator).calculate(any(), any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<AwardIntervalResponse>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> awardsService.getProducersAwardIntervals()));
+            }
+
+            // Libera o cálculo só quando todas as outras chamadas estiverem aguardando por ele
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (meterRegistry.get("awards.intervals.waiting").gauge().value() < CALLERS - 1) {
+                assertTrue(System.nanoTime() < deadline, "Chamadas não se juntaram ao cálculo em andamento");
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<AwardIntervalResponse> result : results) {
+                assertSame(expected, result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        verify(parallelIntervalCalculator, times(1)).calculate(any(), any());
+        assertEquals(1, meterRegistry.get("awards.intervals.calculations").functionCounter().count());
+        assertEquals(CALLERS - 1, meterRegistry.get("awards.intervals.coalesced").functionCounter().count());
+        assertEquals(0, meterRegistry.get("awards.intervals.waiting").gauge().value());
+    }
+}
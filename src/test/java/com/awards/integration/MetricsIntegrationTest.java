@@ -0,0 +1,104 @@
+package com.awards.integration;
+
+import com.awards.repository.MovieRepository;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportação das métricas em /actuator/prometheus, que os testes desabilitam por padrão
+ * ({@link AutoConfigureObservability}). Usa um banco próprio, já que o contexto não é
+ * compartilhado com os demais testes. Sem transação de teste: os gauges do catálogo só
+ * são ajustados após o commit.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    void prometheus_shouldExposeApplicationMeters() throws Exception {
+        mockMvc.perform(get("/awards/producers/intervals"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("awards_dataset_movies{")))
+                .andExpect(content().string(containsString("awards_dataset_winners{")))
+                .andExpect(content().string(containsString("awards_intervals_seconds_count{")))
+                .andExpect(content().string(containsString("awards_intervals_calculations_total{")))
+                .andExpect(content().string(containsString("awards_import_seconds_count{")))
+                .andExpect(content().string(containsString("awards_import_rows_total{")))
+                .andExpect(content().string(containsString("application=\"api-awards\"")))
+                .andExpect(content().string(containsString("cache_gets_total{")));
+    }
+
+    @Test
+    void datasetGauges_shouldFollowInsertsDeletesAndUpserts() throws Exception {
+        assertDataset(movieRepository.count(), movieRepository.countByWinnerTrue());
+        long movies = gauge("awards.dataset.movies");
+        long winners = gauge("awards.dataset.winners");
+
+        String created = mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"year": 2081, "title": "Metrics Movie One", "studios": "Metrics Studio",
+                                 "producers": "Metrics Producer", "winner": true}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = ((Number) JsonPath.read(created, "$.id")).longValue();
+        assertDataset(movies + 1, winners + 1);
+
+        mockMvc.perform(delete("/movies/{id}", id))
+                .andExpect(status().isNoContent());
+        assertDataset(movies, winners);
+
+        MockMultipartFile insert = new MockMultipartFile("file", "movies.csv", "text/csv",
+                ("year;title;studios;producers;winner\n"
+                        + "2081;Metrics Movie Two;Metrics Studio;Metrics Producer;\n").getBytes());
+        mockMvc.perform(multipart("/awards/upload-movies").file(insert))
+                .andExpect(status().isOk());
+        assertDataset(movies + 1, winners);
+
+        // Um filme existente passa a vencedor e outro é incluído, também vencedor
+        MockMultipartFile upsert = new MockMultipartFile("file", "movies.csv", "text/csv",
+                ("year;title;studios;producers;winner\n"
+                        + "2081;Metrics Movie Two;Metrics Studio;Metrics Producer;yes\n"
+                        + "2081;Metrics Movie Three;Metrics Studio;Metrics Producer;yes\n").getBytes());
+        mockMvc.perform(multipart("/awards/upload-movies").file(upsert).param("mode", "upsert"))
+                .andExpect(status().isOk());
+        assertDataset(movies + 2, winners + 2);
+        assertDataset(movieRepository.count(), movieRepository.countByWinnerTrue());
+    }
+
+    private void assertDataset(long movies, long winners) {
+        assertEquals(movies, gauge("awards.dataset.movies"));
+        assertEquals(winners, gauge("awards.dataset.winners"));
+    }
+
+    private long gauge(String name) {
+        return (long) meterRegistry.get(name).gauge().value();
+    }
+}
@@ -0,0 +1,137 @@
+package com.awards.integration;
+
+import com.awards.config.CacheConfig;
+import com.awards.entity.Movie;
+import com.awards.service.MovieService;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache de filmes por ID ({@link CacheConfig#MOVIES}), verificado pelos contadores
+ * {@code cache.gets} do Micrometer. Sem transação de teste: a remoção do cache só acontece
+ * após o commit de cada requisição. Os filmes criados são removidos ao final.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MovieCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void findMovieById_shouldBeCachedAndEvictedOnEveryWrite() throws Exception {
+        long id = createMovie("Cache Movie One");
+
+        getAsMiss(id).andExpect(jsonPath("$.title", is("Cache Movie One")));
+        getAsHit(id).andExpect(jsonPath("$.title", is("Cache Movie One")));
+
+        mockMvc.perform(put("/movies/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content(movieJson(null, "Cache Movie Updated", false)))
+                .andExpect(status().isOk());
+        getAsMiss(id).andExpect(jsonPath("$.title", is("Cache Movie Updated")));
+        getAsHit(id).andExpect(jsonPath("$.title", is("Cache Movie Updated")));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(transaction -> {
+            movieService.updateMovie(id, Movie.builder().year(2071).title("Cache Movie Rolled Back")
+                    .studios("Cache Studio").producers("Cache Producer").winner(false).build());
+            transaction.setRollbackOnly();
+        });
+        getAsHit(id).andExpect(jsonPath("$.title", is("Cache Movie Updated")));
+
+        mockMvc.perform(put("/movies/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + movieJson(id, "Cache Movie Bulk", false) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)));
+        getAsMiss(id).andExpect(jsonPath("$.title", is("Cache Movie Bulk")));
+        getAsHit(id).andExpect(jsonPath("$.winner", is(false)));
+
+        MockMultipartFile upsert = new MockMultipartFile("file", "movies.csv", "text/csv",
+                ("year;title;studios;producers;winner\n"
+                        + "2071;Cache Movie Bulk;Cache Studio;Cache Producer;yes\n").getBytes());
+        mockMvc.perform(multipart("/awards/upload-movies").file(upsert).param("mode", "upsert"))
+                .andExpect(status().isOk());
+        getAsMiss(id).andExpect(jsonPath("$.winner", is(true)));
+        getAsHit(id).andExpect(jsonPath("$.winner", is(true)));
+
+        mockMvc.perform(delete("/movies/{id}", id))
+                .andExpect(status().isNoContent());
+        getAsMiss(id).andExpect(status().isNotFound());
+        getAsMiss(id).andExpect(status().isNotFound());
+
+        long bulkId = createMovie("Cache Movie Two");
+        getAsMiss(bulkId).andExpect(status().isOk());
+        getAsHit(bulkId).andExpect(status().isOk());
+        mockMvc.perform(delete("/movies/bulk").contentType(MediaType.APPLICATION_JSON).content("[" + bulkId + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)));
+        getAsMiss(bulkId).andExpect(status().isNotFound());
+    }
+
+    private long createMovie(String title) throws Exception {
+        String created = mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                        .content(movieJson(null, title, false)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(created, "$.id")).longValue();
+    }
+
+    private static String movieJson(Long id, String title, boolean winner) {
+        return """
+                {"id": %s, "year": 2071, "title": "%s", "studios": "Cache Studio",
+                 "producers": "Cache Producer", "winner": %s}
+                """.formatted(id, title, winner);
+    }
+
+    private ResultActions getAsHit(long id) throws Exception {
+        return getCounting(id, "hit");
+    }
+
+    private ResultActions getAsMiss(long id) throws Exception {
+        return getCounting(id, "miss");
+    }
+
+    /**
+     * GET /movies/{id}, conferindo que apenas o contador {@code cache.gets} de {@code result} avançou.
+     */
+    private ResultActions getCounting(long id, String result) throws Exception {
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+        ResultActions actions = mockMvc.perform(get("/movies/{id}", id));
+        assertEquals(hits + ("hit".equals(result) ? 1 : 0), cacheGets("hit"));
+        assertEquals(misses + ("miss".equals(result) ? 1 : 0), cacheGets("miss"));
+        return actions;
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.MOVIES)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,202 @@
+package com.awards.integration;
+
+import com.awards.event.AbstractMovieChangeListener;
+import com.awards.event.MovieChangeGate;
+import com.awards.event.MoviesChangedEvent;
+import com.awards.index.MovieIndexListener;
+import com.awards.repository.MovieRepository;
+import com.awards.search.MovieSearchIndex;
+import com.awards.statistics.AwardStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uma gravação confirmada durante a reconstrução dos índices a partir do banco é aplicada sobre
+ * o conteúdo novo, em vez de ser apagada por ele ou contada duas vezes, e não espera a leitura.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:movie-change-gate")
+@AutoConfigureMockMvc
+public class MovieChangeGateIntegrationTest {
+
+    private static final String STUDIO = "Gate Pictures";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieChangeGate movieChangeGate;
+
+    @Autowired
+    private MovieIndexListener movieIndexListener;
+
+    @Autowired
+    private MovieSearchIndex movieSearchIndex;
+
+    @Autowired
+    private AwardStatistics awardStatistics;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieCountProbe movieCountProbe;
+
+    @Test
+    void rebuild_shouldKeepAChangeMadeWhileTheDatabaseIsRead() throws Exception {
+        createWinner(2000, "Gate Movie One");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<Future<?>> creation = new AtomicReference<>();
+            movieChangeGate.run(() -> {
+                long moviesBefore = movieRepository.count();
+                creation.set(executor.submit(() -> createWinner(2003, "Gate Movie Two")));
+                sleep();
+                // A gravação aguarda o fim da reconstrução para ser confirmada
+                assertEquals(moviesBefore, movieRepository.count());
+                movieIndexListener.rebuild();
+                movieSearchIndex.rebuild();
+                awardStatistics.rebuild();
+            });
+            creation.get().get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        mockMvc.perform(get("/awards/producers/intervals").param("studio", STUDIO))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min[0].producer", is("Gate Producer")))
+                .andExpect(jsonPath("$.min[0].interval", is(3)));
+        mockMvc.perform(get("/search/producers/{name}", "Gate Producer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.winYears", contains(2000, 2003)));
+        // Contada uma única vez: nem apagada pela reconstrução nem somada de novo depois dela
+        mockMvc.perform(get("/awards/statistics/studios/{name}", STUDIO))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nominations", is(2)))
+                .andExpect(jsonPath("$.wins", is(2)));
+    }
+
+    @Test
+    void rebuild_shouldNotHoldTheGateWhileTheDatabaseIsRead() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        MovieCountProbe.Pause pause = new MovieCountProbe.Pause();
+        movieCountProbe.pause = pause;
+        try {
+            Future<?> rebuild = executor.submit(movieCountProbe::rebuild);
+            assertTrue(pause.reached.await(10, TimeUnit.SECONDS));
+
+            // O snapshot da reconstrução já está fixado; a gravação é confirmada sem esperar a leitura
+            executor.submit(() -> mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"year": 2010, "title": "Probe Movie", "studios": "Probe Pictures", "producers": "Probe Producer"}
+                                    """))
+                    .andExpect(status().isCreated())).get(10, TimeUnit.SECONDS);
+            pause.resume.countDown();
+            rebuild.get(30, TimeUnit.SECONDS);
+        } finally {
+            movieCountProbe.pause = null;
+            pause.resume.countDown();
+            executor.shutdownNow();
+        }
+
+        // Lida no snapshot anterior à gravação e reaplicada do diário: contada uma única vez
+        assertEquals(movieRepository.count(), movieCountProbe.count());
+    }
+
+    private Void createWinner(int year, String title) throws Exception {
+        mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"year": %d, "title": "%s", "studios": "%s", "producers": "Gate Producer", "winner": true}
+                                """.formatted(year, title, STUDIO)))
+                .andExpect(status().isCreated());
+        return null;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class ProbeConfiguration {
+
+        @Bean
+        MovieCountProbe movieCountProbe(JdbcTemplate jdbcTemplate, MovieChangeGate movieChangeGate) {
+            return new MovieCountProbe(jdbcTemplate, movieChangeGate);
+        }
+    }
+
+    /**
+     * Ouvinte mínimo que conta os filmes e pode ser pausado no meio da leitura do banco.
+     */
+    static class MovieCountProbe extends AbstractMovieChangeListener {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final AtomicLong count = new AtomicLong();
+        private volatile Pause pause;
+
+        MovieCountProbe(JdbcTemplate jdbcTemplate, MovieChangeGate movieChangeGate) {
+            super(movieChangeGate);
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        @Override
+        protected Runnable loadFromDatabase() {
+            Pause current = pause;
+            if (current != null) {
+                current.reached.countDown();
+                try {
+                    current.resume.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            long counted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movie", Long.class);
+            return () -> count.set(counted);
+        }
+
+        @Override
+        protected void applyChange(MoviesChangedEvent event) {
+            count.addAndGet(event.getAdded().size() - event.getRemoved().size());
+        }
+
+        static final class Pause {
+            private final CountDownLatch reached = new CountDownLatch(1);
+            private final CountDownLatch resume = new CountDownLatch(1);
+        }
+    }
+}
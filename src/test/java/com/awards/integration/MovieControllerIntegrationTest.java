@@ -8,8 +8,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,6 +44,43 @@ public class MovieControllerIntegrationTest {
                 .andExpect(jsonPath("$.size", is(5)));
     }
 
+    @Test
+    void getMoviesAfter_shouldWalkCatalogueByCursor() throws Exception {
+        String firstPage = mockMvc.perform(get("/movies/cursor?size=2&fields=id,title")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()", is(2)))
+                .andExpect(jsonPath("$.content[0].title").exists())
+                .andExpect(jsonPath("$.content[0].producers").doesNotExist())
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        long nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asLong();
+
+        mockMvc.perform(get("/movies/cursor?size=2&after=" + nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", greaterThan((int) nextCursor)))
+                .andExpect(jsonPath("$.content[0].producers").exists());
+
+        mockMvc.perform(get("/movies/cursor?fields=budget"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportMovies_shouldStreamImportCompatibleCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/movies/export?format=csv&winnersOnly=true&fromYear=1990&toYear=1991"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string(startsWith("year;title;studios;producers;winner\n")))
+                .andExpect(content().string(containsString("1991;Hudson Hawk;TriStar Pictures;Joel Silver;yes\n")));
+
+        mockMvc.perform(get("/movies/export?format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void crudOperations_shouldWorkCorrectly() throws Exception {
         // 1. Create
@@ -71,4 +116,111 @@ public class MovieControllerIntegrationTest {
         mockMvc.perform(get(location))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void writes_shouldRejectTheCsvSeparator() throws Exception {
+        Movie movie = Movie.builder().title("Separator Movie").producers("Producer A; Producer B").year(2027).studios("Separator Studio").build();
+
+        mockMvc.perform(post("/movies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("';'")));
+
+        mockMvc.perform(post("/movies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie.toBuilder().producers("Producer A").title("Separator\nMovie").build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("quebras de linha")));
+
+        String created = mockMvc.perform(post("/movies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie.toBuilder().producers("Producer A and Producer B").build())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(put("/movies/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie.toBuilder().title("Separator; Movie").producers("Producer A").build())))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/movies/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie.toBuilder().studios("Separator\rStudio").producers("Producer A").build())))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/movies/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                        movie.toBuilder().title("Separator Bulk").studios("Studio A;Studio B").producers("Producer A").build(),
+                        movie.toBuilder().title("Separator Bulk 2").producers("Producer A\r\nProducer B").build()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].status", contains("INVALID", "INVALID")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada inserção recusada desfaz a própria transação
+    void writes_shouldReturnConflictOnlyForADuplicateYearAndTitle() throws Exception {
+        Movie movie = Movie.builder().title("Hudson Hawk").producers("Joel Silver").year(1991).studios("TriStar Pictures").winner(true).build();
+
+        mockMvc.perform(post("/movies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/movies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie.toBuilder().title("T".repeat(300)).build())))
+                .andExpect(status().isBadRequest());
+
+        // Produtor e estúdio já cadastrados são reaproveitados, não gravados de novo
+        String location = mockMvc.perform(post("/movies")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie.toBuilder().title("Hudson Hawk II").year(2028).build())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+        mockMvc.perform(delete(location))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void bulkOperations_shouldReportEachItem() throws Exception {
+        String movies = objectMapper.writeValueAsString(List.of(
+                Movie.builder().title("Bulk Movie A").producers("Bulk Producer").year(2026).studios("Bulk Studio").winner(false).build(),
+                Movie.builder().title("Bulk Movie B").producers("Bulk Producer").year(2026).studios("Bulk Studio").winner(true).build(),
+                Movie.builder().title("").producers("Bulk Producer").year(2026).studios("Bulk Studio").build(),
+                Movie.builder().title("Bulk Movie A").producers("Other Producer").year(2026).studios("Bulk Studio").build()));
+
+        String created = mockMvc.perform(post("/movies/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(movies))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.items[*].status", contains("CREATED", "CREATED", "INVALID", "CONFLICT")))
+                .andReturn().getResponse().getContentAsString();
+        long firstId = objectMapper.readTree(created).at("/items/0/id").asLong();
+        long secondId = objectMapper.readTree(created).at("/items/1/id").asLong();
+
+        String updates = objectMapper.writeValueAsString(List.of(
+                Movie.builder().id(firstId).title("Bulk Movie A").producers("New Producer").year(2026).studios("Bulk Studio").winner(true).build(),
+                Movie.builder().id(-1L).title("Missing").producers("Bulk Producer").year(2026).studios("Bulk Studio").build()));
+
+        mockMvc.perform(put("/movies/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updates))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].status", contains("UPDATED", "NOT_FOUND")));
+
+        mockMvc.perform(get("/awards/producers/{name}/wins", "New Producer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.wins", contains(2026)));
+
+        mockMvc.perform(delete("/movies/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(firstId, secondId, -1L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.items[*].status", contains("DELETED", "DELETED", "NOT_FOUND")));
+    }
+}
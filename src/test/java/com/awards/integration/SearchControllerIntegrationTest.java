@@ -0,0 +1,122 @@
+package com.awards.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SearchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void search_shouldAutocompleteAndFindProducerMovies() throws Exception {
+        mockMvc.perform(get("/search/autocomplete?prefix=JOEL S"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.field == 'PRODUCER')].text", hasItem("Joel Silver")));
+
+        mockMvc.perform(get("/search/autocomplete?prefix=silv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].text", hasItem("Joel Silver")));
+
+        mockMvc.perform(get("/search/movies?q=hudson hawk&fields=title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].year", is(1991)))
+                .andExpect(jsonPath("$[0].producers", is("Joel Silver")));
+
+        mockMvc.perform(get("/search/producers/Joel Silver"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movies[*].title", hasItem("Hudson Hawk")))
+                .andExpect(jsonPath("$.winYears", contains(1990, 1991)));
+
+        mockMvc.perform(get("/search/producers/Nobody"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/search/movies?q=hawk&fields=director"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Sem transação de teste: os ouvintes só atualizam o índice após o commit de cada requisição.
+     * Os filmes criados são removidos ao final.
+     */
+    @Test
+    void search_shouldFollowWritesAndImports() throws Exception {
+        String created = mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"year": 2051, "title": "Zephyr Quixotic", "studios": "Quasar Films",
+                                 "producers": "Xavier Quillfeather", "winner": true}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = ((Number) JsonPath.read(created, "$.id")).longValue();
+
+        mockMvc.perform(get("/search/movies?q=zephyr"))
+                .andExpect(jsonPath("$[*].title", contains("Zephyr Quixotic")));
+        mockMvc.perform(get("/search/autocomplete?prefix=quillf"))
+                .andExpect(jsonPath("$[*].text", contains("Xavier Quillfeather")))
+                .andExpect(jsonPath("$[0].movies", is(1)));
+        mockMvc.perform(get("/search/producers/{name}", "Xavier Quillfeather"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.winYears", contains(2051)));
+
+        mockMvc.perform(put("/movies/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"year": 2051, "title": "Nimbus Quixotic", "studios": "Quasar Films",
+                                 "producers": "Xavier Quillfeather", "winner": true}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/search/movies?q=zephyr"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/search/movies?q=nimbus quixotic"))
+                .andExpect(jsonPath("$[*].id", contains((int) id)));
+        mockMvc.perform(get("/search/autocomplete?prefix=zephyr"))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        MockMultipartFile upsert = new MockMultipartFile("file", "movies.csv", "text/csv",
+                ("year;title;studios;producers;winner\n"
+                        + "2051;Nimbus Quixotic;Quasar Films;Xavier Quillfeather and Yolanda Quince;\n"
+                        + "2052;Zephyr Returns;Quasar Films;Yolanda Quince;yes\n").getBytes());
+        mockMvc.perform(multipart("/awards/upload-movies").file(upsert).param("mode", "upsert"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("1 inseridos, 1 atualizados")));
+
+        mockMvc.perform(get("/search/producers/{name}", "Xavier Quillfeather"))
+                .andExpect(jsonPath("$.movies[*].title", contains("Nimbus Quixotic")))
+                .andExpect(jsonPath("$.winYears", hasSize(0)));
+        mockMvc.perform(get("/search/producers/{name}", "Yolanda Quince"))
+                .andExpect(jsonPath("$.movies[*].title", contains("Nimbus Quixotic", "Zephyr Returns")))
+                .andExpect(jsonPath("$.winYears", contains(2052)));
+        mockMvc.perform(get("/search/autocomplete?prefix=quin"))
+                .andExpect(jsonPath("$[?(@.text == 'Yolanda Quince')].movies", contains(2)));
+        String returns = mockMvc.perform(get("/search/movies?q=zephyr&fields=title"))
+                .andExpect(jsonPath("$[*].title", contains("Zephyr Returns")))
+                .andReturn().getResponse().getContentAsString();
+        long importedId = ((Number) JsonPath.read(returns, "$[0].id")).longValue();
+
+        mockMvc.perform(delete("/movies/{id}", id)).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/movies/{id}", importedId)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/search/movies?q=quasar&fields=studio"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/search/autocomplete?prefix=quillf"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/search/producers/{name}", "Yolanda Quince"))
+                .andExpect(status().isNotFound());
+    }
+}
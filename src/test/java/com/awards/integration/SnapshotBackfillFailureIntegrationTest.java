@@ -0,0 +1,101 @@
+package com.awards.integration;
+
+import com.awards.entity.Movie;
+import com.awards.repository.MovieRepository;
+import com.awards.service.DatasetVersion;
+import com.awards.snapshot.MovieSnapshot;
+import com.awards.snapshot.SnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Snapshot que o banco recusa mesmo na nova tentativa (título maior que a coluna): o índice
+ * servido a partir do snapshot é descartado e o arquivo, única cópia do catálogo, nunca é
+ * sobrescrito; as alterações seguintes vão para {@code <arquivo>.recovered}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SnapshotBackfillFailureIntegrationTest {
+
+    private static Path file;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @DynamicPropertySource
+    static void snapshot(DynamicPropertyRegistry registry) throws IOException {
+        file = Files.createTempDirectory("awards-snapshot").resolve("movies.snapshot");
+        MovieSnapshot.Writer writer = new MovieSnapshot.Writer();
+        writer.add(movie(1990, "The Adventures of Ford Fairlane", "Joel Silver"));
+        writer.add(movie(1991, "Hudson Hawk", "Joel Silver"));
+        writer.add(movie(1992, "Shining Through".repeat(20), "Howard Rosenman"));
+        writer.write(file);
+
+        registry.add("awards.snapshot.path", file::toString);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:snapshot-backfill-failure");
+    }
+
+    @Test
+    void restore_shouldKeepTheSnapshotWhenBackfillFails() throws Exception {
+        // Versão 1 na restauração do índice; a recarga após a falha anuncia a 2
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (datasetVersion.get() < 2) {
+            assertTrue(System.nanoTime() < deadline, "A recarga após a falha do preenchimento não aconteceu");
+            Thread.sleep(20);
+        }
+        assertEquals(0, movieRepository.count());
+        mockMvc.perform(get("/awards/producers/intervals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min", hasSize(0)))
+                .andExpect(jsonPath("$.max", hasSize(0)));
+
+        Path recovered = file.resolveSibling("movies.snapshot.recovered");
+        snapshotService.writeOnShutdown();
+        assertEquals(3, MovieSnapshot.read(file).size());
+        assertFalse(Files.exists(recovered));
+
+        // Com o banco incompleto, as alterações seguintes não podem substituir o snapshot original
+        mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"year": 2001, "title": "Freddy Got Fingered", "studios": "20th Century Fox",
+                                 "producers": "Larry Brezner", "winner": true}
+                                """))
+                .andExpect(status().isCreated());
+        snapshotService.writeOnShutdown();
+        assertEquals(3, MovieSnapshot.read(file).size());
+        assertEquals(1, MovieSnapshot.read(recovered).size());
+    }
+
+    private static Movie movie(int year, String title, String producers) {
+        return Movie.builder().year(year).title(title).studios("TriStar Pictures").producers(producers).winner(true).build();
+    }
+}
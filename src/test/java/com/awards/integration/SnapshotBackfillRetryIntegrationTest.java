@@ -0,0 +1,86 @@
+package com.awards.integration;
+
+import com.awards.entity.Movie;
+import com.awards.repository.MovieRepository;
+import com.awards.service.DatasetVersion;
+import com.awards.snapshot.MovieSnapshot;
+import com.awards.snapshot.SnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Snapshot com ano e título repetidos: o primeiro preenchimento esbarra na chave natural e é
+ * desfeito; a nova tentativa grava uma linha por chave e o snapshot original é preservado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SnapshotBackfillRetryIntegrationTest {
+
+    private static Path file;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @DynamicPropertySource
+    static void snapshot(DynamicPropertyRegistry registry) throws IOException {
+        file = Files.createTempDirectory("awards-snapshot").resolve("movies.snapshot");
+        MovieSnapshot.Writer writer = new MovieSnapshot.Writer();
+        writer.add(movie(1990, "The Adventures of Ford Fairlane", "Joel Silver"));
+        writer.add(movie(1991, "Hudson Hawk", "Joel Silver"));
+        writer.add(movie(1991, "Hudson Hawk", "Steve Tisch"));
+        writer.write(file);
+
+        registry.add("awards.snapshot.path", file::toString);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:snapshot-backfill-retry");
+    }
+
+    @Test
+    void restore_shouldRetryWithOneMoviePerKey() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (datasetVersion.get() < 2) {
+            assertTrue(System.nanoTime() < deadline, "O preenchimento do banco a partir do snapshot não terminou");
+            Thread.sleep(20);
+        }
+        assertEquals(2, movieRepository.count());
+
+        // Vale a primeira ocorrência da chave repetida
+        mockMvc.perform(get("/awards/producers/intervals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min[0].producer", is("Joel Silver")))
+                .andExpect(jsonPath("$.min[0].interval", is(1)));
+
+        snapshotService.writeOnShutdown();
+        assertEquals(3, MovieSnapshot.read(file).size());
+        assertTrue(Files.notExists(file.resolveSibling("movies.snapshot.recovered")));
+    }
+
+    private static Movie movie(int year, String title, String producers) {
+        return Movie.builder().year(year).title(title).studios("TriStar Pictures").producers(producers).winner(true).build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.awards.integration;
+
+import com.awards.entity.Movie;
+import com.awards.repository.MovieRepository;
+import com.awards.snapshot.MovieSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Partida com um snapshot cujo cabeçalho foi corrompido fora do checksum: a aplicação
+ * descarta o arquivo e importa o CSV.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SnapshotCorruptHeaderIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @DynamicPropertySource
+    static void snapshot(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempDirectory("awards-snapshot").resolve("movies.snapshot");
+        MovieSnapshot.Writer writer = new MovieSnapshot.Writer();
+        writer.add(movie(1990, "Snapshot Only Movie", "Snapshot Studio", "Snapshot Producer", true));
+        writer.add(movie(1991, "Snapshot Only Sequel", "Snapshot Studio", "Snapshot Producer", true));
+        writer.write(file);
+        // Contagem de linhas do cabeçalho maior do que as seções do corpo
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(1_000_000).flip(), 8);
+        }
+
+        registry.add("awards.snapshot.path", file::toString);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:snapshot-corrupt-header");
+    }
+
+    @Test
+    void startup_shouldImportTheCsvWhenTheSnapshotHeaderIsCorrupted() throws Exception {
+        assertEquals(206, movieRepository.count());
+
+        mockMvc.perform(get("/awards/producers/intervals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min[0].producer", is("Joel Silver")))
+                .andExpect(jsonPath("$.max[0].producer", is("Matthew Vaughn")));
+        mockMvc.perform(get("/search/movies?q=snapshot only"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", empty()));
+    }
+
+    private static Movie movie(int year, String title, String studios, String producers, boolean winner) {
+        return Movie.builder().year(year).title(title).studios(studios).producers(producers).winner(winner).build();
+    }
+}
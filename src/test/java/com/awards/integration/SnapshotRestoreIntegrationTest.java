@@ -0,0 +1,88 @@
+package com.awards.integration;
+
+import com.awards.entity.Movie;
+import com.awards.repository.MovieRepository;
+import com.awards.service.DatasetVersion;
+import com.awards.snapshot.MovieSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Partida com o banco vazio e um snapshot existente: o índice vem do snapshot e o banco é
+ * preenchido em segundo plano.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SnapshotRestoreIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @DynamicPropertySource
+    static void snapshot(DynamicPropertyRegistry registry) throws IOException {
+        Path file = Files.createTempDirectory("awards-snapshot").resolve("movies.snapshot");
+        MovieSnapshot.Writer writer = new MovieSnapshot.Writer();
+        writer.add(movie(1990, "The Adventures of Ford Fairlane", "20th Century Fox", "Steven Perry and Joel Silver", true));
+        writer.add(movie(1991, "Hudson Hawk", "TriStar Pictures", "Joel Silver", true));
+        writer.add(movie(1991, "Return to the Blue Lagoon", "Columbia Pictures", "William A. Graham", false));
+        writer.add(movie(2002, "Swept Away", "Screen Gems", "Matthew Vaughn", true));
+        writer.add(movie(2015, "Fantastic Four", "20th Century Fox", "Simon Kinberg, Matthew Vaughn", true));
+        writer.write(file);
+
+        registry.add("awards.snapshot.path", file::toString);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:snapshot-restore");
+    }
+
+    @Test
+    void restore_shouldServeFromSnapshotAndBackfillTheDatabase() throws Exception {
+        // Versão 1 na restauração do índice; a recarga após o preenchimento anuncia a 2
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (datasetVersion.get() < 2) {
+            assertTrue(System.nanoTime() < deadline, "O preenchimento do banco a partir do snapshot não terminou");
+            Thread.sleep(20);
+        }
+        assertEquals(2, datasetVersion.get());
+        assertEquals(5, movieRepository.count());
+
+        mockMvc.perform(get("/awards/producers/intervals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min[0].producer", is("Joel Silver")))
+                .andExpect(jsonPath("$.max[0].producer", is("Matthew Vaughn")))
+                .andExpect(jsonPath("$.max[0].interval", is(13)));
+
+        // Ouvintes que se reconstroem a partir do banco só enxergam os filmes depois da recarga
+        mockMvc.perform(get("/awards/producers/{name}/wins", "Joel Silver"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.wins", contains(1990, 1991)));
+        mockMvc.perform(get("/search/movies?q=blue lagoon"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Return to the Blue Lagoon")));
+    }
+
+    private static Movie movie(int year, String title, String studios, String producers, boolean winner) {
+        return Movie.builder().year(year).title(title).studios(studios).producers(producers).winner(winner).build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.awards.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class StatisticsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void statistics_shouldServeYearHistogramAndLeaderboards() throws Exception {
+        mockMvc.perform(get("/awards/statistics/years?from=1980&to=1981"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].year", contains(1980, 1981)))
+                .andExpect(jsonPath("$[0].nominations", is(10)))
+                .andExpect(jsonPath("$[0].wins", is(1)));
+
+        mockMvc.perform(get("/awards/statistics/producers?limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Joel Silver")))
+                .andExpect(jsonPath("$[0].wins", is(2)));
+
+        mockMvc.perform(get("/awards/statistics/producers/{name}", "Joel Silver"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nominations", is(4)))
+                .andExpect(jsonPath("$.wins", is(2)));
+
+        mockMvc.perform(get("/awards/statistics/studios?orderBy=nominations&limit=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Warner Bros.", "Columbia Pictures", "Paramount Pictures")))
+                .andExpect(jsonPath("$[*].nominations", contains(34, 29, 20)))
+                .andExpect(jsonPath("$[*].wins", contains(5, 7, 6)));
+
+        mockMvc.perform(get("/awards/statistics/studios?limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Columbia Pictures", "Paramount Pictures")));
+
+        mockMvc.perform(get("/awards/statistics/studios?orderBy=budget"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/awards/statistics/years?from=2000&to=1990"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Sem transação de teste, para que os contadores sejam ajustados após cada commit. Os
+     * filmes criados são removidos ao final e os contadores voltam aos valores iniciais.
+     */
+    @Test
+    void statistics_shouldFollowInsertsUpdatesImportsAndDeletes() throws Exception {
+        int[] warnerBefore = counters("/awards/statistics/studios/{name}", "Warner Bros.");
+        mockMvc.perform(get("/awards/statistics/years?from=2061&to=2061"))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        String created = mockMvc.perform(post("/movies").contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"year": 2061, "title": "Stats Movie One", "studios": "Warner Bros., Stat Studio",
+                                 "producers": "Stat Producer", "winner": true}
+                                """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = ((Number) JsonPath.read(created, "$.id")).longValue();
+
+        assertYear(1, 1);
+        assertCounters("/awards/statistics/studios/{name}", "Warner Bros.", warnerBefore[0] + 1, warnerBefore[1] + 1);
+        assertCounters("/awards/statistics/studios/{name}", "Stat Studio", 1, 1);
+        assertCounters("/awards/statistics/producers/{name}", "Stat Producer", 1, 1);
+
+        mockMvc.perform(put("/movies/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"year": 2061, "title": "Stats Movie One", "studios": "Stat Studio",
+                                 "producers": "Stat Producer", "winner": false}
+                                """))
+                .andExpect(status().isOk());
+
+        assertYear(1, 0);
+        assertCounters("/awards/statistics/studios/{name}", "Warner Bros.", warnerBefore[0], warnerBefore[1]);
+        assertCounters("/awards/statistics/studios/{name}", "Stat Studio", 1, 0);
+        assertCounters("/awards/statistics/producers/{name}", "Stat Producer", 1, 0);
+
+        MockMultipartFile upsert = new MockMultipartFile("file", "movies.csv", "text/csv",
+                ("year;title;studios;producers;winner\n"
+                        + "2061;Stats Movie One;Stat Studio;Stat Producer;\n"
+                        + "2061;Stats Movie Two;Stat Studio;Stat Producer and Second Stat Producer;yes\n").getBytes());
+        mockMvc.perform(multipart("/awards/upload-movies").file(upsert).param("mode", "upsert"))
+                .andExpect(status().isOk());
+
+        assertYear(2, 1);
+        assertCounters("/awards/statistics/studios/{name}", "Stat Studio", 2, 1);
+        assertCounters("/awards/statistics/producers/{name}", "Stat Producer", 2, 1);
+        assertCounters("/awards/statistics/producers/{name}", "Second Stat Producer", 1, 1);
+
+        String found = mockMvc.perform(get("/search/movies?q=stats movie&fields=title"))
+                .andReturn().getResponse().getContentAsString();
+        List<Integer> ids = JsonPath.read(found, "$[*].id");
+        assertEquals(2, ids.size());
+        mockMvc.perform(delete("/movies/bulk").contentType(MediaType.APPLICATION_JSON).content(ids.toString()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/awards/statistics/years?from=2061&to=2061"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        assertCounters("/awards/statistics/studios/{name}", "Warner Bros.", warnerBefore[0], warnerBefore[1]);
+        mockMvc.perform(get("/awards/statistics/studios/{name}", "Stat Studio"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/awards/statistics/producers/{name}", "Stat Producer"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void assertYear(int nominations, int wins) throws Exception {
+        mockMvc.perform(get("/awards/statistics/years?from=2061&to=2061"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].year", is(2061)))
+                .andExpect(jsonPath("$[0].nominations", is(nominations)))
+                .andExpect(jsonPath("$[0].wins", is(wins)));
+    }
+
+    private void assertCounters(String path, String name, int nominations, int wins) throws Exception {
+        mockMvc.perform(get(path, name))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nominations", is(nominations)))
+                .andExpect(jsonPath("$.wins", is(wins)));
+    }
+
+    private int[] counters(String path, String name) throws Exception {
+        String body = mockMvc.perform(get(path, name))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return new int[]{JsonPath.read(body, "$.nominations"), JsonPath.read(body, "$.wins")};
+    }
+}
@@ -0,0 +1,26 @@
+package com.awards.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvImportServiceTest {
+
+    @Test
+    void constructor_shouldRejectBatchSizeBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsvImportService(null, null, 0, 4, new SimpleMeterRegistry()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsvImportService(null, null, -1, 4, new SimpleMeterRegistry()));
+        assertDoesNotThrow(() -> new CsvImportService(null, null, 1, 4, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void constructor_shouldRejectQueueCapacityBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsvImportService(null, null, 1000, 0, new SimpleMeterRegistry()));
+        assertDoesNotThrow(() -> new CsvImportService(null, null, 1000, 1, new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,196 @@
+package com.awards.service;
+
+import com.awards.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieCsvParserTest {
+
+    private static final String HEADER = "year;title;studios;producers;winner\n";
+
+    @Test
+    void next_shouldSkipTheHeader() throws IOException {
+        assertEquals(List.of(movie(1980, "Can't Stop the Music", "Associated Film Distribution", "Allan Carr", true)),
+                parse("year;title;studios;producers;winner\n1980;Can't Stop the Music;Associated Film Distribution;Allan Carr;yes\n"));
+        assertEquals(List.of(), parse(HEADER));
+    }
+
+    @Test
+    void next_shouldAcceptCrlfLineEndings() throws IOException {
+        List<Movie> movies = parse("year;title;studios;producers;winner\r\n"
+                + "1990;The Adventures of Ford Fairlane;20th Century Fox;Steven Perry and Joel Silver;yes\r\n"
+                + "1990;Ghosts Can't Do It;Triumph Releasing;Bo Derek;\r\n");
+
+        assertEquals(List.of(
+                movie(1990, "The Adventures of Ford Fairlane", "20th Century Fox", "Steven Perry and Joel Silver", true),
+                movie(1990, "Ghosts Can't Do It", "Triumph Releasing", "Bo Derek", false)), movies);
+    }
+
+    @Test
+    void next_shouldReadALastLineWithoutNewline() throws IOException {
+        assertEquals(List.of(movie(1991, "Hudson Hawk", "TriStar Pictures", "Joel Silver", true)),
+                parse(HEADER + "1991;Hudson Hawk;TriStar Pictures;Joel Silver;yes"));
+        assertEquals(List.of(movie(1991, "Hudson Hawk", "TriStar Pictures", "Joel Silver", true)),
+                parse(HEADER.replace("\n", "\r\n") + "1991;Hudson Hawk;TriStar Pictures;Joel Silver;yes\r"));
+    }
+
+    @Test
+    void next_shouldTreatAnEmptyOrMissingWinnerColumnAsLoser() throws IOException {
+        List<Movie> movies = parse(HEADER
+                + "1980;Cruising;Lorimar Productions, United Artists;Jerry Weintraub;\n"
+                + "1980;The Formula;MGM, United Artists;Steve Shagan;   \n"
+                + "1980;Friday the 13th;Paramount Pictures;Sean S. Cunningham\n"
+                + "1980;Windows;United Artists;Mike Lobell;YES\n");
+
+        assertEquals(List.of(false, false, false, true), movies.stream().map(Movie::getWinner).toList());
+    }
+
+    @Test
+    void next_shouldKeepCommasInsideFields() throws IOException {
+        List<Movie> movies = parse(HEADER
+                + "1982;Inchon;MGM;Mitsuharu Ishii, Anthony Leigh and Sun Myung Moon;yes\n"
+                + "1984;Bolero;Cannon Films;Bo Derek;yes\n"
+                + "1986;Howard the Duck, Part One;Universal Studios, Lucasfilm;Gloria Katz;yes\n");
+
+        assertEquals("Mitsuharu Ishii, Anthony Leigh and Sun Myung Moon", movies.get(0).getProducers());
+        assertEquals("Howard the Duck, Part One", movies.get(2).getTitle());
+        assertEquals("Universal Studios, Lucasfilm", movies.get(2).getStudios());
+    }
+
+    @Test
+    void next_shouldRejectANonNumericYear() throws IOException {
+        try (MovieCsvParser parser = new MovieCsvParser(new StringReader(HEADER
+                + "1980;Cruising;Lorimar Productions;Jerry Weintraub;\n"
+                + "198O;Windows;United Artists;Mike Lobell;\n"))) {
+            assertNotNull(parser.next());
+
+            CsvFormatException thrown = assertThrows(CsvFormatException.class, parser::next);
+
+            assertEquals("Ano inválido na linha 3: '198O'", thrown.getMessage());
+        }
+        assertThrows(CsvFormatException.class, () -> parse(HEADER + ";No Year;Studio;Producer;\n"));
+    }
+
+    @Test
+    void next_shouldRejectALineWithFewerThanFourColumnsAndSkipBlankLines() throws IOException {
+        assertEquals(List.of(movie(1980, "Cruising", "Lorimar Productions", "Jerry Weintraub", false)),
+                parse(HEADER + "\n   \r\n1980;Cruising;Lorimar Productions;Jerry Weintraub;\n\n"));
+
+        CsvFormatException thrown = assertThrows(CsvFormatException.class, () -> parse(HEADER
+                + "1980;Cruising;Lorimar Productions;Jerry Weintraub;\n"
+                + "1980;Windows;United Artists\n"));
+
+        assertEquals("Colunas insuficientes na linha 3: esperadas ao menos 4, encontradas 3", thrown.getMessage());
+    }
+
+    @Test
+    void next_shouldRejectALineLongerThanTheLimitWithoutGrowingTheBuffer() throws IOException {
+        String longTitle = "x".repeat(MovieCsvParser.MAX_LINE_LENGTH - 100);
+        assertEquals(List.of(movie(1990, longTitle, "Studio", "Producer", true)),
+                parse(new TrickleReader(HEADER + "1990;" + longTitle + ";Studio;Producer;yes\n")));
+
+        try (MovieCsvParser parser = new MovieCsvParser(new EndlessLineReader())) {
+            CsvLineTooLongException thrown = assertThrows(CsvLineTooLongException.class, parser::next);
+
+            assertEquals("A linha 2 excede o limite de " + MovieCsvParser.MAX_LINE_LENGTH + " caracteres", thrown.getMessage());
+        }
+    }
+
+    @Test
+    void next_shouldShareStudioAndProducerInstances() throws IOException {
+        List<Movie> movies = parse(HEADER
+                + "1990;The Adventures of Ford Fairlane;20th Century Fox;Joel Silver;yes\n"
+                + "1991;Hudson Hawk;TriStar Pictures;Joel Silver;yes\n"
+                + "1992;Shining Through;20th Century Fox;Howard Rosenman;\n");
+
+        assertSame(movies.get(0).getProducers(), movies.get(1).getProducers());
+        assertSame(movies.get(0).getStudios(), movies.get(2).getStudios());
+    }
+
+    @Test
+    void next_shouldReadLinesSplitAcrossReads() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        List<Movie> expected = new ArrayList<>();
+        for (int row = 0; row < 5000; row++) {
+            String title = "Movie " + row + " " + "x".repeat(1 + row % 97);
+            csv.append(1980 + row % 40).append(';').append(title).append(";Studio ").append(row % 7)
+                    .append(";Producer ").append(row % 13).append(';').append(row % 3 == 0 ? "yes" : "").append('\n');
+            expected.add(movie(1980 + row % 40, title, "Studio " + row % 7, "Producer " + row % 13, row % 3 == 0));
+        }
+
+        assertEquals(expected, parse(new TrickleReader(csv.toString())));
+    }
+
+    private static List<Movie> parse(String csv) throws IOException {
+        return parse(new StringReader(csv));
+    }
+
+    private static List<Movie> parse(Reader reader) throws IOException {
+        List<Movie> movies = new ArrayList<>();
+        try (MovieCsvParser parser = new MovieCsvParser(reader)) {
+            Movie movie;
+            while ((movie = parser.next()) != null) {
+                movies.add(movie);
+            }
+        }
+        return movies;
+    }
+
+    private static Movie movie(int year, String title, String studios, String producers, boolean winner) {
+        return Movie.builder().year(year).title(title).studios(studios).producers(producers).winner(winner).build();
+    }
+
+    /**
+     * Entrega poucos caracteres por leitura, de modo que as linhas terminem no meio do buffer.
+     */
+    private static final class TrickleReader extends Reader {
+
+        private final StringReader content;
+        private int calls;
+
+        TrickleReader(String content) {
+            this.content = new StringReader(content);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return content.read(buffer, offset, Math.min(length, 1 + calls++ % 61));
+        }
+
+        @Override
+        public void close() {
+            content.close();
+        }
+    }
+
+    /**
+     * Entrega o cabeçalho e depois caracteres sem fim e sem quebras de linha, como um arquivo binário.
+     */
+    private static final class EndlessLineReader extends Reader {
+
+        private final StringReader header = new StringReader(HEADER);
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read = header.read(buffer, offset, length);
+            if (read > 0) {
+                return read;
+            }
+            Arrays.fill(buffer, offset, offset + length, 'x');
+            return length;
+        }
+
+        @Override
+        public void close() {
+            header.close();
+        }
+    }
+}
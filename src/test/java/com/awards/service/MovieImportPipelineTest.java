@@ -0,0 +1,191 @@
+package com.awards.service;
+
+import com.awards.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieImportPipelineTest {
+
+    private static final String HEADER = "year;title;studios;producers;winner\n";
+
+    @Test
+    void run_shouldStopParsingWhileTheWriterIsBlocked() throws Exception {
+        MovieImportPipeline pipeline = new MovieImportPipeline(1, 1, movie -> {
+        });
+        AtomicInteger parsed = new AtomicInteger();
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> written = executor.submit(() -> pipeline.run(csv(1000), batch -> {
+                writerBlocked.countDown();
+                await(releaseWriter);
+            }, new ImportProgress() {
+                @Override
+                public void parsed(int rows) {
+                    parsed.addAndGet(rows);
+                }
+            }));
+
+            assertTrue(writerBlocked.await(10, TimeUnit.SECONDS));
+            Thread.sleep(300);
+            // Um lote na gravação, um em cada fila e um na mão de cada estágio anterior
+            assertTrue(parsed.get() <= 5, "Lotes lidos com a gravação parada: " + parsed.get());
+
+            releaseWriter.countDown();
+            assertEquals(1000, written.get(30, TimeUnit.SECONDS));
+            assertEquals(1000, parsed.get());
+        } finally {
+            releaseWriter.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void run_shouldCloseTheInputAndStopTheStagesWhenTheWriterFails() throws Exception {
+        MovieImportPipeline pipeline = new MovieImportPipeline(1, 4, movie -> {
+        });
+        // Entrega algumas linhas e fica bloqueada na leitura seguinte até ser fechada
+        StalledInputStream input = new StalledInputStream(HEADER + "1990;Movie 1;Studio;Producer;yes\n");
+        IllegalStateException writerFailure = new IllegalStateException("Falha na gravação");
+
+        IllegalStateException thrown = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(IllegalStateException.class, () -> pipeline.run(input, batch -> {
+                    throw writerFailure;
+                }, ImportProgress.NONE)));
+
+        assertSame(writerFailure, thrown);
+        assertTrue(input.closed.await(1, TimeUnit.SECONDS));
+        awaitStagesStopped();
+    }
+
+    @Test
+    void run_shouldCloseTheInputAndStopTheStagesWhenTheValidatorFails() throws Exception {
+        CsvFormatException validatorFailure = new CsvFormatException("Título é obrigatório.");
+        MovieImportPipeline pipeline = new MovieImportPipeline(1, 4, movie -> {
+            throw validatorFailure;
+        });
+        StalledInputStream input = new StalledInputStream(HEADER + "1990;Movie 1;Studio;Producer;yes\n");
+        List<Movie> written = new ArrayList<>();
+
+        CsvFormatException thrown = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(CsvFormatException.class, () -> pipeline.run(input, written::addAll, ImportProgress.NONE)));
+
+        assertSame(validatorFailure, thrown);
+        assertEquals(List.of(), written);
+        assertTrue(input.closed.await(1, TimeUnit.SECONDS));
+        awaitStagesStopped();
+    }
+
+    @Test
+    void run_shouldWriteTheBatchesBeforeAParseErrorAndThenFail() {
+        MovieImportPipeline pipeline = new MovieImportPipeline(2, 4, movie -> {
+        });
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int row = 1; row <= 5; row++) {
+            csv.append(1990 + row).append(";Movie ").append(row).append(";Studio;Producer;\n");
+        }
+        csv.append("abc;Bad Movie;Studio;Producer;\n");
+        csv.append("2000;Never Read;Studio;Producer;\n");
+        List<Movie> written = new ArrayList<>();
+
+        CsvFormatException thrown = assertThrows(CsvFormatException.class, () -> pipeline.run(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), written::addAll, ImportProgress.NONE));
+
+        assertTrue(thrown.getMessage().contains("linha 7"), thrown.getMessage());
+        // O lote incompleto anterior à linha inválida é descartado
+        assertEquals(4, written.size());
+    }
+
+    private static InputStream csv(int rows) {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int row = 0; row < rows; row++) {
+            csv.append(1980 + row % 40).append(";Movie ").append(row).append(";Studio;Producer;\n");
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitStagesStopped() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (stagesAlive()) {
+            assertTrue(System.nanoTime() < deadline, "Os estágios de parse e validação não terminaram");
+            Thread.sleep(20);
+        }
+    }
+
+    private static boolean stagesAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.isAlive()
+                        && (thread.getName().equals("csv-import-parse") || thread.getName().equals("csv-import-validate")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Entrada que entrega {@code content} e depois bloqueia como um socket sem dados, até
+     * ser fechada.
+     */
+    private static final class StalledInputStream extends InputStream {
+
+        private final ByteArrayInputStream content;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        StalledInputStream(String content) {
+            this.content = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (content.available() > 0) {
+                return content.read(b, off, len);
+            }
+            // Como a leitura de um socket, não responde a interrupt
+            boolean interrupted = false;
+            while (closed.getCount() > 0) {
+                try {
+                    closed.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Stream closed");
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.awards.snapshot;
+
+import com.awards.entity.Movie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieSnapshotTest {
+
+    /** Mais de 64 linhas, para que o bitmap de vencedores ocupe vários longs. */
+    private static final int ROWS = 200;
+    private static final int HEADER_SIZE = 36;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeAndRead_shouldRoundTripEveryColumn() throws IOException {
+        List<Movie> movies = sampleMovies();
+        Path file = write(movies);
+
+        MovieSnapshot snapshot = MovieSnapshot.read(file);
+
+        assertEquals(ROWS, snapshot.size());
+        assertEquals(movies, snapshot.movies(0, ROWS));
+        assertEquals(movies.subList(60, 70), snapshot.movies(60, 70));
+        Map<String, List<Integer>> winYears = snapshot.winYearsByProducer();
+        assertEquals(List.of(1990, 1991), winYears.get("Joel Silver"));
+        assertEquals(List.of(1980 + 63 % 40, 1980 + 64 % 40, 1980 + 127 % 40, 1980 + 128 % 40, 1980 + 199 % 40),
+                winYears.get("Producer 3"));
+        assertEquals(List.of(1990), snapshot.winYearsByStudio().get("Warner Bros.").get("Joel Silver"));
+    }
+
+    @Test
+    void read_shouldRejectWrongMagic() throws IOException {
+        Path file = write(sampleMovies());
+        overwrite(file, 0, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0x12345678).flip());
+
+        assertRejected(file, "não é um snapshot");
+    }
+
+    @Test
+    void read_shouldRejectOtherFormatVersion() throws IOException {
+        Path file = write(sampleMovies());
+        overwrite(file, 4, ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN).putShort((short) (MovieSnapshot.FORMAT_VERSION + 1)).flip());
+
+        assertRejected(file, "Versão");
+    }
+
+    @Test
+    void read_shouldRejectTruncatedFile() throws IOException {
+        Path file = write(sampleMovies());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+        assertRejected(file, "truncado");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(10);
+        }
+        assertRejected(file, "menor que o cabeçalho");
+    }
+
+    @Test
+    void read_shouldRejectChecksumMismatch() throws IOException {
+        Path file = write(sampleMovies());
+        long lastByte = Files.size(file) - 1;
+        ByteBuffer original = ByteBuffer.allocate(1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(original, lastByte);
+        }
+        overwrite(file, lastByte, ByteBuffer.wrap(new byte[]{(byte) (original.get(0) ^ 0x01)}));
+
+        assertRejected(file, "Checksum");
+    }
+
+    @Test
+    void read_shouldRejectHeaderCountsThatDoNotMatchTheBody() throws IOException {
+        // O checksum cobre só o corpo: as contagens do cabeçalho são conferidas com as seções
+        for (int offset : new int[]{8, 12, 16}) {
+            for (int count : new int[]{ROWS + 1, 0, -1, Integer.MAX_VALUE}) {
+                Path file = write(sampleMovies());
+                overwrite(file, offset, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(count).flip());
+
+                assertThrows(SnapshotFormatException.class, () -> MovieSnapshot.read(file), "offset " + offset + ", " + count);
+            }
+        }
+    }
+
+    @Test
+    void read_shouldRejectDictionaryCodesOutsideTheDictionary() throws IOException {
+        Path file = write(sampleMovies());
+        // Código de estúdio da primeira linha, logo depois dos anos e do bitmap de vencedores
+        int studioCodes = ROWS * Integer.BYTES + (ROWS + 63) / 64 * Long.BYTES;
+        rewriteBody(file, studioCodes, ROWS);
+
+        assertRejected(file, "fora do dicionário");
+    }
+
+    /**
+     * Filmes com vencedores nas fronteiras dos longs do bitmap (63, 64, 127, 128) e títulos com acentos.
+     */
+    private static List<Movie> sampleMovies() {
+        List<Movie> movies = new ArrayList<>();
+        for (int row = 0; row < ROWS; row++) {
+            boolean winner = row == 63 || row == 64 || row == 127 || row == 128 || row == 199;
+            movies.add(Movie.builder()
+                    .year(1980 + row % 40)
+                    .title("Filme nº " + row + (row % 7 == 0 ? " – São Paulo" : ""))
+                    .studios(row % 2 == 0 ? "Studio A, Studio B" : "Studio C")
+                    .producers(winner ? "Producer 3" : "Producer " + row % 5)
+                    .winner(winner)
+                    .build());
+        }
+        movies.set(10, Movie.builder().year(1990).title("The Adventures of Ford Fairlane").studios("Warner Bros.")
+                .producers("Steven Perry and Joel Silver").winner(true).build());
+        movies.set(11, Movie.builder().year(1991).title("Hudson Hawk").studios("TriStar Pictures")
+                .producers("Joel Silver").winner(true).build());
+        return movies;
+    }
+
+    private Path write(List<Movie> movies) throws IOException {
+        MovieSnapshot.Writer writer = new MovieSnapshot.Writer();
+        movies.forEach(writer::add);
+        Path file = directory.resolve("movies.snapshot");
+        writer.write(file);
+        return file;
+    }
+
+    private static void overwrite(Path file, long position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    /**
+     * Troca um int do corpo e recalcula o checksum, simulando um arquivo gravado com defeito.
+     */
+    private static void rewriteBody(Path file, int bodyPosition, int value) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(HEADER_SIZE + bodyPosition, value);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        buffer.putLong(28, crc.getValue());
+        Files.write(file, bytes);
+    }
+
+    private static void assertRejected(Path file, String reason) {
+        SnapshotFormatException e = assertThrows(SnapshotFormatException.class, () -> MovieSnapshot.read(file));
+        assertTrue(e.getMessage().contains(reason), e.getMessage());
+    }
+}